@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.arakelian.faker.service.Dictionary;
+import com.arakelian.faker.service.RandomData;
+import com.arakelian.faker.service.RandomPerson;
+import com.arakelian.faker.text.MarkovText;
+
+/**
+ * Compares text generated from a Markov model with random words, writing into a reused buffer.
+ * Divide the buffer length by the time per operation to get characters per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MarkovTextBenchmark {
+    private final StringBuilder buf = new StringBuilder(4096);
+
+    private MarkovText text;
+
+    private Dictionary<Object[]> lorem;
+
+    @Benchmark
+    @Threads(1)
+    public int appendLorem() {
+        buf.setLength(0);
+        return lorem.appendParagraphs(buf, 1, 1, ThreadLocalRandom.current()).length();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int appendParagraphs() {
+        buf.setLength(0);
+        return text.appendParagraphs(buf, 1, 1, ThreadLocalRandom.current()).length();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public int appendParagraphsConcurrent() {
+        buf.setLength(0);
+        return text.appendParagraphs(buf, 1, 1, ThreadLocalRandom.current()).length();
+    }
+
+    @Setup
+    public void setup() {
+        text = RandomData.get().text(RandomPerson.COMMENTS);
+        lorem = RandomData.get().dictionary("words.lorem");
+    }
+}
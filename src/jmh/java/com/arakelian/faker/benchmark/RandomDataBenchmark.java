@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.arakelian.faker.service.Dictionary;
+import com.arakelian.faker.service.RandomData;
+import com.arakelian.faker.service.RandomData.Capitalization;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RandomDataBenchmark {
+    private static final String LOREM = "words.lorem";
+
+    private RandomData randomData;
+
+    private Dictionary<Object[]> lorem;
+
+    @Benchmark
+    @Threads(1)
+    public String nextParagraphs() {
+        return randomData.nextParagraphs(LOREM, 1, 1);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String nextParagraphsConcurrent() {
+        return randomData.nextParagraphs(LOREM, 1, 1);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String nextString() {
+        return randomData.nextString(LOREM);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String nextStringFromDictionary() {
+        return lorem.nextString(ThreadLocalRandom.current());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String nextWord() {
+        return randomData.nextWord(LOREM, Capitalization.TITLE);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String nextWordConcurrent() {
+        return randomData.nextWord(LOREM, Capitalization.TITLE);
+    }
+
+    @Setup
+    public void setup() {
+        randomData = RandomData.get();
+        lorem = randomData.dictionary(LOREM);
+
+        // exclude dictionary loading from measurements
+        randomData.nextWord(LOREM, Capitalization.LOWER);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.arakelian.faker.model.Gender;
+import com.arakelian.faker.model.Person;
+import com.arakelian.faker.schema.FieldSource;
+import com.arakelian.faker.schema.ImmutableRecordSchema;
+import com.arakelian.faker.schema.RecordGenerator;
+import com.arakelian.faker.schema.RecordSchema;
+import com.arakelian.faker.schema.SchemaField;
+import com.arakelian.faker.service.RandomData;
+
+/**
+ * Measures records generated from a schema equivalent to {@link RandomPersonBenchmark}, for
+ * comparison with the hand-written service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecordGeneratorBenchmark {
+    private RecordGenerator<Person> beans;
+
+    private RecordGenerator<Map<String, Object>> maps;
+
+    @Benchmark
+    @Threads(1)
+    public Person nextBean() {
+        return beans.next();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Map<String, Object> nextMap() {
+        return maps.next();
+    }
+
+    @Setup
+    public void setup() {
+        final RecordSchema schema = ImmutableRecordSchema.builder() //
+                .addField(SchemaField.of("firstName", FieldSource.dictionary("name.female"))) //
+                .addField(SchemaField.of("lastName", FieldSource.dictionary("name.surname"))) //
+                .addField(SchemaField.of("gender", FieldSource.constant(Gender.FEMALE))) //
+                .addField(SchemaField.of("title", FieldSource.dictionary("job.title"))) //
+                .addField(SchemaField.of("comments", FieldSource.paragraphs("words.lorem", 1, 1))) //
+                .build();
+        beans = RecordGenerator.beans(RandomData.get(), schema, Person.class);
+        maps = RecordGenerator.maps(RandomData.get(), schema);
+
+        // exclude dictionary loading from measurements
+        beans.next();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.arakelian.faker.reader.TextReader;
+
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(1)
+@State(Scope.Benchmark)
+public class TextReaderBenchmark {
+    private static final String SURNAME = "/com/arakelian/faker/name/surname";
+
+    /** True to load the precompiled snapshot, false to parse the text **/
+    @Param({ "false", "true" })
+    public boolean snapshot;
+
+    /**
+     * Time to load surnames in a freshly started JVM, which is what a short-lived process pays.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public TextReader<Object[]> readCold() throws IOException {
+        return read();
+    }
+
+    /**
+     * Time to load surnames once the parser has been compiled by the JIT.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Fork(1)
+    public TextReader<Object[]> readWarm() throws IOException {
+        return read();
+    }
+
+    private TextReader<Object[]> read() throws IOException {
+        final TextReader<Object[]> reader = new TextReader<>(SURNAME, Object[].class);
+        reader.setSnapshotEnabled(snapshot);
+        reader.read();
+        return reader;
+    }
+}
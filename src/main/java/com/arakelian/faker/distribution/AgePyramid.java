@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.distribution;
+
+import java.util.Arrays;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Shares of the United States population by age, in five-year groups, from the 2020 census. The
+ * final group covers everyone aged 85 or over, which we spread up to {@link #MAX_AGE}.
+ */
+final class AgePyramid {
+    static final long MILLIS_PER_DAY = 86_400_000L;
+
+    static final double MILLIS_PER_YEAR = 365.2425 * MILLIS_PER_DAY;
+
+    static final int MAX_AGE = 100;
+
+    private static final double[] BOUNDS = new double[] { //
+            0, 5, 10, 15, 20, 25, 30, 35, 40, 45, 50, 55, 60, 65, 70, 75, 80, 85, MAX_AGE };
+
+    private static final double[] PERCENT = new double[] { //
+            5.7, 6.0, 6.4, 6.6, 6.5, 6.8, 6.8, 6.6, 6.3, 6.0, 6.2, 6.4, 6.3, 5.4, 4.3, 2.9, 1.8, 1.9 };
+
+    /**
+     * Returns a distribution of ages between the given ages, in years, that follows the pyramid.
+     *
+     * @param minAge
+     *            minimum age
+     * @param maxAge
+     *            maximum age
+     * @return a distribution of ages
+     */
+    static Distribution ages(final double minAge, final double maxAge) {
+        final double min = Math.max(0, minAge);
+        final double max = Math.min(MAX_AGE, maxAge);
+        Preconditions.checkArgument(min < max, "No ages between %s and %s", minAge, maxAge);
+
+        // clip groups to [min, max], keeping the density of each group
+        final double[] bounds = new double[BOUNDS.length];
+        final double[] weights = new double[PERCENT.length];
+        int size = 0;
+        for (int i = 0; i < PERCENT.length; i++) {
+            final double lo = Math.max(min, BOUNDS[i]);
+            final double hi = Math.min(max, BOUNDS[i + 1]);
+            if (lo < hi) {
+                bounds[size] = lo;
+                bounds[size + 1] = hi;
+                weights[size++] = PERCENT[i] * (hi - lo) / (BOUNDS[i + 1] - BOUNDS[i]);
+            }
+        }
+        return Distribution.piecewise(Arrays.copyOf(bounds, size + 1), Arrays.copyOf(weights, size));
+    }
+
+    private AgePyramid() {
+        // utility class
+    }
+}
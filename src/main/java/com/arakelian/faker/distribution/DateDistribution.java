@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.distribution;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A distribution of points in time. Values are drawn as epoch milliseconds or epoch days, so that
+ * callers that only need a primitive do not pay for a {@link ZonedDateTime} per draw.
+ */
+@FunctionalInterface
+public interface DateDistribution {
+    /**
+     * Returns a distribution of birthdates which follows the age pyramid of the United States
+     * population in the 2020 census, as of the given time.
+     *
+     * @param asOf
+     *            time at which ages are measured
+     * @return a distribution of birthdates
+     */
+    public static DateDistribution agePyramid(final ZonedDateTime asOf) {
+        return before(asOf, AgePyramid.ages(0, AgePyramid.MAX_AGE));
+    }
+
+    /**
+     * Returns a distribution of birthdates between the given dates, which follows the age pyramid
+     * of the United States population in the 2020 census, as of the given time.
+     *
+     * @param asOf
+     *            time at which ages are measured
+     * @param from
+     *            earliest birthdate
+     * @param to
+     *            latest birthdate
+     * @return a distribution of birthdates
+     * @throws IllegalArgumentException
+     *             if no ages in the pyramid fall between the given dates
+     */
+    public static DateDistribution agePyramid(
+            final ZonedDateTime asOf,
+            final ZonedDateTime from,
+            final ZonedDateTime to) {
+        final long now = asOf.toInstant().toEpochMilli();
+        final double minAge = (now - to.toInstant().toEpochMilli()) / AgePyramid.MILLIS_PER_YEAR;
+        final double maxAge = (now - from.toInstant().toEpochMilli()) / AgePyramid.MILLIS_PER_YEAR;
+        return before(asOf, AgePyramid.ages(minAge, maxAge));
+    }
+
+    /**
+     * Returns a distribution of times before the given time, at distances in years drawn from the
+     * given distribution, e.g. birthdates from a distribution of ages.
+     *
+     * @param time
+     *            reference time
+     * @param years
+     *            distribution of years before the reference time
+     * @return a distribution of times before the given time
+     */
+    public static DateDistribution before(final ZonedDateTime time, final Distribution years) {
+        Preconditions.checkNotNull(years, "years must be non-null");
+        final long millis = time.toInstant().toEpochMilli();
+        return random -> millis - (long) (years.next(random) * AgePyramid.MILLIS_PER_YEAR);
+    }
+
+    /**
+     * Returns a distribution of times between the given times, chosen uniformly.
+     *
+     * @param from
+     *            earliest time, inclusive
+     * @param to
+     *            latest time, exclusive
+     * @return a uniform distribution of times
+     */
+    public static DateDistribution uniform(final ZonedDateTime from, final ZonedDateTime to) {
+        final long start = from.toInstant().toEpochMilli();
+        final long range = to.toInstant().toEpochMilli() - start;
+        Preconditions.checkArgument(range > 0, "from must be before to");
+        return random -> start + (long) (random.nextDouble() * range);
+    }
+
+    /**
+     * Returns the next point in time, in UTC.
+     *
+     * @param random
+     *            random number generator
+     * @return the next point in time
+     */
+    public default ZonedDateTime next(final Random random) {
+        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(nextEpochMilli(random)), ZoneOffset.UTC);
+    }
+
+    /**
+     * Returns the next point in time, as a number of days since 1970-01-01.
+     *
+     * @param random
+     *            random number generator
+     * @return the next point in time, as an epoch day
+     */
+    public default int nextEpochDay(final Random random) {
+        return (int) Math.floorDiv(nextEpochMilli(random), AgePyramid.MILLIS_PER_DAY);
+    }
+
+    /**
+     * Returns the next point in time, as a number of milliseconds since 1970-01-01T00:00:00Z.
+     *
+     * @param random
+     *            random number generator
+     * @return the next point in time, as epoch milliseconds
+     */
+    public long nextEpochMilli(Random random);
+}
@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.distribution;
+
+import java.util.Random;
+
+import com.arakelian.faker.random.AliasTable;
+import com.arakelian.faker.random.ZipfSampler;
+import com.google.common.base.Preconditions;
+
+/**
+ * A distribution of numeric values. Any tables that a distribution needs are computed when it is
+ * created, so that each draw costs a constant amount of time, allocates nothing, and returns a
+ * primitive.
+ */
+@FunctionalInterface
+public interface Distribution {
+    /**
+     * Returns a distribution of the given values, each of which is equally likely, e.g. values
+     * sampled from a production column.
+     *
+     * @param values
+     *            values
+     * @return a distribution of the given values
+     */
+    public static Distribution empirical(final double... values) {
+        Preconditions.checkArgument(values != null && values.length != 0, "values must be non-empty");
+        final double[] copy = values.clone();
+        return random -> copy[random.nextInt(copy.length)];
+    }
+
+    /**
+     * Returns a distribution of the given values, each of which is drawn in proportion to its
+     * weight, e.g. a histogram of distinct values and their counts.
+     *
+     * @param values
+     *            values
+     * @param weights
+     *            weight of each value
+     * @return a distribution of the given values
+     */
+    public static Distribution empirical(final double[] values, final double[] weights) {
+        Preconditions.checkArgument(values != null && weights != null, "values and weights must be non-null");
+        Preconditions.checkArgument(values.length == weights.length, "values and weights must have same length");
+        final double[] copy = values.clone();
+        final AliasTable table = new AliasTable(weights);
+        return random -> copy[table.next(random)];
+    }
+
+    /**
+     * Returns an exponential distribution with the given mean, e.g. for the time between events.
+     *
+     * @param mean
+     *            mean value
+     * @return an exponential distribution
+     */
+    public static Distribution exponential(final double mean) {
+        Preconditions.checkArgument(mean > 0 && !Double.isInfinite(mean), "mean must be positive");
+        return random -> -mean * Math.log(1.0 - random.nextDouble());
+    }
+
+    /**
+     * Returns a log-normal distribution, whose logarithm is normally distributed with the given
+     * parameters, e.g. for prices, salaries or file sizes.
+     *
+     * @param mu
+     *            mean of the logarithm
+     * @param sigma
+     *            standard deviation of the logarithm
+     * @return a log-normal distribution
+     */
+    public static Distribution logNormal(final double mu, final double sigma) {
+        Preconditions.checkArgument(sigma >= 0, "sigma must be non-negative");
+        return random -> Math.exp(mu + sigma * random.nextGaussian());
+    }
+
+    /**
+     * Returns a normal distribution.
+     *
+     * @param mean
+     *            mean value
+     * @param standardDeviation
+     *            standard deviation
+     * @return a normal distribution
+     */
+    public static Distribution normal(final double mean, final double standardDeviation) {
+        Preconditions.checkArgument(standardDeviation >= 0, "standardDeviation must be non-negative");
+        return random -> mean + standardDeviation * random.nextGaussian();
+    }
+
+    /**
+     * Returns a distribution that is uniform within each of a series of adjacent ranges, and in
+     * which each range is chosen in proportion to its weight, e.g. a histogram of a column.
+     *
+     * @param bounds
+     *            bounds of the ranges, in ascending order; range {@code i} is
+     *            {@code [bounds[i], bounds[i + 1])}
+     * @param weights
+     *            weight of each range
+     * @return a piecewise uniform distribution
+     */
+    public static Distribution piecewise(final double[] bounds, final double[] weights) {
+        Preconditions.checkArgument(bounds != null && weights != null, "bounds and weights must be non-null");
+        Preconditions.checkArgument(
+                bounds.length == weights.length + 1,
+                "bounds must have one more element than weights");
+        final int size = weights.length;
+        final double[] min = new double[size];
+        final double[] width = new double[size];
+        for (int i = 0; i < size; i++) {
+            Preconditions.checkArgument(bounds[i] < bounds[i + 1], "bounds must be ascending");
+            min[i] = bounds[i];
+            width[i] = bounds[i + 1] - bounds[i];
+        }
+        final AliasTable table = new AliasTable(weights);
+        return random -> {
+            final int i = table.next(random);
+            return min[i] + random.nextDouble() * width[i];
+        };
+    }
+
+    /**
+     * Returns a distribution that is uniform between the given values.
+     *
+     * @param min
+     *            minimum value, inclusive
+     * @param max
+     *            maximum value, exclusive
+     * @return a uniform distribution
+     */
+    public static Distribution uniform(final double min, final double max) {
+        Preconditions.checkArgument(min < max, "min must be less than max");
+        final double range = max - min;
+        return random -> min + random.nextDouble() * range;
+    }
+
+    /**
+     * Returns a Zipf distribution of the ranks {@code 1} through {@code size}, in which rank
+     * {@code k} is drawn with probability proportional to {@code 1 / k^exponent}.
+     *
+     * @param size
+     *            number of ranks
+     * @param exponent
+     *            skew of the distribution
+     * @return a Zipf distribution
+     * @see ZipfSampler
+     */
+    public static Distribution zipf(final int size, final double exponent) {
+        final ZipfSampler sampler = new ZipfSampler(size, exponent);
+        return random -> sampler.next(random) + 1;
+    }
+
+    /**
+     * Returns this distribution, with values outside of the given range moved to the nearest end
+     * of the range.
+     *
+     * @param min
+     *            minimum value
+     * @param max
+     *            maximum value
+     * @return this distribution, limited to the given range
+     */
+    public default Distribution clamp(final double min, final double max) {
+        Preconditions.checkArgument(min <= max, "min must not be greater than max");
+        return random -> Math.max(min, Math.min(max, next(random)));
+    }
+
+    /**
+     * Returns the next value from this distribution.
+     *
+     * @param random
+     *            random number generator
+     * @return the next value
+     */
+    public double next(Random random);
+
+    /**
+     * Returns the next value from this distribution, rounded to the nearest integer.
+     *
+     * @param random
+     *            random number generator
+     * @return the next value, rounded to the nearest integer
+     */
+    public default int nextInt(final Random random) {
+        return (int) Math.rint(next(random));
+    }
+
+    /**
+     * Returns the next value from this distribution, rounded to the nearest long.
+     *
+     * @param random
+     *            random number generator
+     * @return the next value, rounded to the nearest long
+     */
+    public default long nextLong(final Random random) {
+        return (long) Math.rint(next(random));
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.id;
+
+import java.util.Random;
+
+import com.arakelian.core.utils.MoreStringUtils;
+
+/**
+ * Assigns ids to generated records. Implementations must be thread-safe, and should be cheap,
+ * since they are called for every record that is generated.
+ *
+ * @see SequentialIdStrategy
+ * @see SnowflakeIdStrategy
+ */
+@FunctionalInterface
+public interface IdStrategy {
+    /**
+     * Random UUIDs from a secure random number generator; this is the most expensive strategy,
+     * and ids are not reproducible.
+     */
+    public static final IdStrategy RANDOM = random -> MoreStringUtils.shortUuid();
+
+    /**
+     * Ids drawn from the random number generator of each record, so that ids are reproducible
+     * when data is seeded.
+     */
+    public static final IdStrategy SEEDED = new SeededIdStrategy();
+
+    /**
+     * Returns the id of the next record.
+     *
+     * @param random
+     *            random number generator of the record
+     * @return id of the next record
+     */
+    public String nextId(Random random);
+}
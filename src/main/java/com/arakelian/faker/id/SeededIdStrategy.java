@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.id;
+
+import java.util.Random;
+
+/**
+ * Encodes 128 random bits, drawn from the random number generator of each record, as 22
+ * URL-safe Base64 characters; see {@link IdStrategy#SEEDED}.
+ */
+final class SeededIdStrategy implements IdStrategy {
+    private static final char[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+            .toCharArray();
+
+    private static final int LENGTH = 22;
+
+    @Override
+    public String nextId(final Random random) {
+        long hi = random.nextLong();
+        long lo = random.nextLong();
+
+        // 6 bits per character; the last character holds the remaining 2 bits
+        final char[] id = new char[LENGTH];
+        for (int i = 0; i < 10; i++) {
+            id[i] = ALPHABET[(int) (hi & 0x3f)];
+            hi >>>= 6;
+        }
+        id[10] = ALPHABET[(int) (hi & 0x0f | (lo & 0x03) << 4)];
+        lo >>>= 2;
+        for (int i = 11; i < LENGTH; i++) {
+            id[i] = ALPHABET[(int) (lo & 0x3f)];
+            lo >>>= 6;
+        }
+        return new String(id);
+    }
+
+    @Override
+    public String toString() {
+        return "SEEDED";
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.id;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Assigns consecutive numeric ids, starting from a given value. Ids depend on the order in which
+ * records are generated, so they are only reproducible for sequential generation.
+ */
+public final class SequentialIdStrategy implements IdStrategy {
+    private final AtomicLong next;
+
+    public SequentialIdStrategy() {
+        this(1);
+    }
+
+    public SequentialIdStrategy(final long start) {
+        this.next = new AtomicLong(start);
+    }
+
+    @Override
+    public String nextId(@SuppressWarnings("unused") final Random random) {
+        return Long.toString(next.getAndIncrement());
+    }
+
+    @Override
+    public String toString() {
+        return "SequentialIdStrategy[next=" + next.get() + "]";
+    }
+}
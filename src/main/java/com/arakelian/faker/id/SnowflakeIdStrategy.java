@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.id;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Random;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Assigns time-ordered numeric ids in the style of Twitter's Snowflake: 41 bits of milliseconds
+ * since a custom epoch, 10 bits of worker id and a 12-bit sequence within each millisecond. Workers
+ * with distinct worker ids can generate ids concurrently without coordination.
+ *
+ * <p>
+ * Ids never repeat within a worker: if more than 4096 ids are requested within a millisecond, or
+ * if the clock moves backwards, the timestamp portion is advanced past the clock.
+ * </p>
+ */
+public final class SnowflakeIdStrategy implements IdStrategy {
+    /** Default epoch, 2020-01-01T00:00:00Z **/
+    public static final Instant DEFAULT_EPOCH = Instant.ofEpochMilli(1577836800000L);
+
+    public static final int MAX_WORKER_ID = (1 << 10) - 1;
+
+    private static final int SEQUENCE_BITS = 12;
+
+    private static final int WORKER_BITS = 10;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final Clock clock;
+
+    private final long epoch;
+
+    private final long worker;
+
+    /** Timestamp and sequence of last id, guarded by this **/
+    private long lastTimestamp = -1;
+
+    private long sequence;
+
+    public SnowflakeIdStrategy(final int workerId) {
+        this(workerId, Clock.systemUTC(), DEFAULT_EPOCH);
+    }
+
+    public SnowflakeIdStrategy(final int workerId, final Clock clock, final Instant epoch) {
+        Preconditions.checkArgument(
+                workerId >= 0 && workerId <= MAX_WORKER_ID,
+                "workerId must be between 0 and %s",
+                MAX_WORKER_ID);
+        this.worker = (long) workerId << SEQUENCE_BITS;
+        this.clock = Preconditions.checkNotNull(clock);
+        this.epoch = epoch.toEpochMilli();
+    }
+
+    /**
+     * Returns the next id, as a number.
+     *
+     * @return the next id
+     */
+    public synchronized long nextId() {
+        final long now = clock.millis() - epoch;
+        if (now > lastTimestamp) {
+            lastTimestamp = now;
+            sequence = 0;
+        } else if (++sequence > SEQUENCE_MASK) {
+            lastTimestamp++;
+            sequence = 0;
+        }
+        return lastTimestamp << WORKER_BITS + SEQUENCE_BITS | worker | sequence;
+    }
+
+    @Override
+    public String nextId(@SuppressWarnings("unused") final Random random) {
+        return Long.toString(nextId());
+    }
+
+    @Override
+    public String toString() {
+        return "SnowflakeIdStrategy[worker=" + (worker >>> SEQUENCE_BITS) + "]";
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A lock-free histogram of latencies, with power-of-two buckets. Percentiles are accurate to
+ * within a factor of two, which is enough to tell which stage of generation is slow.
+ */
+public final class LatencyHistogram {
+    private static final int BUCKETS = Long.SIZE;
+
+    private static int bucketOf(final long nanos) {
+        return nanos <= 0 ? 0 : BUCKETS - Long.numberOfLeadingZeros(nanos);
+    }
+
+    /** Number of values in each bucket; bucket i holds values in the range [2^(i-1), 2^i) **/
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS + 1);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder total = new LongAdder();
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public Duration getMean() {
+        final long n = count.sum();
+        return Duration.ofNanos(n != 0 ? total.sum() / n : 0);
+    }
+
+    /**
+     * Returns an upper bound for the given percentile.
+     *
+     * @param percentile
+     *            percentile, between 0 and 100
+     * @return upper bound for the given percentile
+     */
+    public Duration getPercentile(final double percentile) {
+        Preconditions.checkArgument(percentile >= 0 && percentile <= 100, "percentile must be between 0 and 100");
+
+        long n = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            n += buckets.get(i);
+        }
+        final long rank = (long) Math.ceil(n * percentile / 100);
+
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= rank && seen != 0) {
+                return Duration.ofNanos(i == 0 ? 0 : i >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << i) - 1);
+            }
+        }
+        return Duration.ZERO;
+    }
+
+    /**
+     * Records one or more values that took the given time in total.
+     *
+     * @param n
+     *            number of values
+     * @param nanos
+     *            total time
+     */
+    public void record(final long n, final long nanos) {
+        if (n <= 0) {
+            return;
+        }
+        buckets.addAndGet(bucketOf(nanos / n), n);
+        count.add(n);
+        total.add(nanos);
+    }
+}
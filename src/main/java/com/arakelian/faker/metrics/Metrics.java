@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.metrics;
+
+/**
+ * Receives measurements from the generators, so that they can be published to a monitoring
+ * system. All methods do nothing by default; implementations override the ones they need.
+ * Implementations must be thread-safe, and should be cheap, since some methods are called for
+ * every value that is generated.
+ *
+ * @see SimpleMetrics
+ */
+public interface Metrics {
+    /**
+     * Metrics that are discarded; generators skip all measurements when this is configured.
+     */
+    public static final Metrics NOOP = new Metrics() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return "NOOP";
+        }
+    };
+
+    /**
+     * Returns true if measurements should be taken. Generators check this once, up front, so that
+     * measurements that are discarded cost nothing.
+     *
+     * @return true if measurements should be taken
+     */
+    public default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Called after a dictionary has been loaded.
+     *
+     * @param name
+     *            dictionary name
+     * @param nanos
+     *            time taken to load dictionary
+     * @param rowCount
+     *            number of rows
+     * @param retainedSize
+     *            estimate of heap used by dictionary, in bytes
+     */
+    public default void onDictionaryLoaded(
+            final String name,
+            final long nanos,
+            final int rowCount,
+            final long retainedSize) {
+        // do nothing
+    }
+
+    /**
+     * Called when rows have been drawn from a dictionary.
+     *
+     * @param name
+     *            dictionary name
+     * @param count
+     *            number of rows drawn
+     */
+    public default void onDictionarySampled(final String name, final int count) {
+        // do nothing
+    }
+
+    /**
+     * Called after a call to a generator has produced one or more records.
+     *
+     * @param service
+     *            name of generator, e.g. {@code RandomPerson}
+     * @param count
+     *            number of records
+     * @param nanos
+     *            time taken to generate all of the records
+     */
+    public default void onRecordsGenerated(final String service, final long count, final long nanos) {
+        // do nothing
+    }
+}
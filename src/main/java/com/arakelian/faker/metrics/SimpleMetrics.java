@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.metrics;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
+/**
+ * Metrics that are kept in memory, for logging or for bridging to a monitoring system.
+ */
+public class SimpleMetrics implements Metrics {
+    /**
+     * Measurements taken when a dictionary was loaded.
+     */
+    public static final class DictionaryStats {
+        private final Duration loadTime;
+
+        private final int rowCount;
+
+        private final long retainedSize;
+
+        private DictionaryStats(final Duration loadTime, final int rowCount, final long retainedSize) {
+            this.loadTime = loadTime;
+            this.rowCount = rowCount;
+            this.retainedSize = retainedSize;
+        }
+
+        public Duration getLoadTime() {
+            return loadTime;
+        }
+
+        public long getRetainedSize() {
+            return retainedSize;
+        }
+
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        @Override
+        public String toString() {
+            return "DictionaryStats [loadTime=" + loadTime + ", rowCount=" + rowCount + ", retainedSize="
+                    + retainedSize + "]";
+        }
+    }
+
+    private final ConcurrentMap<String, DictionaryStats> dictionaries = Maps.newConcurrentMap();
+
+    private final ConcurrentMap<String, LongAdder> samples = Maps.newConcurrentMap();
+
+    private final ConcurrentMap<String, LatencyHistogram> latencies = Maps.newConcurrentMap();
+
+    public Map<String, DictionaryStats> getDictionaries() {
+        return ImmutableMap.copyOf(dictionaries);
+    }
+
+    /**
+     * Returns the per-record latency of the given generator.
+     *
+     * @param service
+     *            name of generator
+     * @return per-record latency, or null if the generator has not been used
+     */
+    public LatencyHistogram getLatency(final String service) {
+        return latencies.get(service);
+    }
+
+    /**
+     * Returns the number of records generated by the given generator.
+     *
+     * @param service
+     *            name of generator
+     * @return number of records generated
+     */
+    public long getRecordCount(final String service) {
+        final LatencyHistogram histogram = latencies.get(service);
+        return histogram != null ? histogram.getCount() : 0;
+    }
+
+    /**
+     * Returns the number of rows drawn from the given dictionary.
+     *
+     * @param name
+     *            dictionary name
+     * @return number of rows drawn
+     */
+    public long getSampleCount(final String name) {
+        final LongAdder count = samples.get(name);
+        return count != null ? count.sum() : 0;
+    }
+
+    @Override
+    public void onDictionaryLoaded(
+            final String name,
+            final long nanos,
+            final int rowCount,
+            final long retainedSize) {
+        dictionaries.put(name, new DictionaryStats(Duration.ofNanos(nanos), rowCount, retainedSize));
+    }
+
+    @Override
+    public void onDictionarySampled(final String name, final int count) {
+        samples.computeIfAbsent(name, key -> new LongAdder()).add(count);
+    }
+
+    @Override
+    public void onRecordsGenerated(final String service, final long count, final long nanos) {
+        latencies.computeIfAbsent(service, key -> new LatencyHistogram()).record(count, nanos);
+    }
+}
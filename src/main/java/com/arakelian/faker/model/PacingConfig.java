@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.model;
+
+import java.time.Duration;
+
+import org.immutables.value.Value;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Configures the rate at which records are generated, see
+ * {@link com.arakelian.faker.service.PacedGenerator}.
+ */
+@Value.Immutable
+public interface PacingConfig {
+    /**
+     * Returns the maximum number of records that may be released back-to-back to make up for a
+     * caller that has fallen behind schedule. With the default of one, a late caller simply
+     * resumes at the target rate.
+     *
+     * @return maximum number of records released back-to-back
+     */
+    @Value.Default
+    public default int getBurst() {
+        return 1;
+    }
+
+    /**
+     * Returns the target rate, in records per second.
+     *
+     * @return target rate, in records per second
+     */
+    public double getRate();
+
+    /**
+     * Returns the time over which the rate increases linearly from zero to the target rate.
+     *
+     * @return ramp-up time
+     */
+    @Value.Default
+    public default Duration getRampUp() {
+        return Duration.ZERO;
+    }
+
+    @Value.Check
+    public default void validate() {
+        Preconditions.checkState(getRate() > 0 && Double.isFinite(getRate()), "rate must be positive");
+        Preconditions.checkState(getBurst() >= 1, "burst must be >= 1");
+        Preconditions.checkState(!getRampUp().isNegative(), "rampUp must be non-negative");
+    }
+}
@@ -19,29 +19,144 @@ package com.arakelian.faker.model;
 
 import java.time.Month;
 import java.time.ZonedDateTime;
+import java.util.Map;
 import java.util.Random;
 
 import org.immutables.value.Value;
 
+import com.arakelian.core.feature.Nullable;
 import com.arakelian.core.utils.DateUtils;
+import com.arakelian.faker.distribution.DateDistribution;
+import com.arakelian.faker.distribution.Distribution;
+import com.arakelian.faker.id.IdStrategy;
+import com.arakelian.faker.metrics.Metrics;
 
 @Value.Immutable
 public interface RandomDataConfig {
+    /**
+     * Returns the time at which generated records are created, and at which ages are computed. If
+     * null, the current time is used. Fixing this time makes seeded data fully reproducible, and
+     * avoids reading the clock for every record.
+     *
+     * @return the time at which generated records are created
+     */
+    @Nullable
+    @Value.Auxiliary
+    public ZonedDateTime getAsOf();
+
+    /**
+     * Returns the name of the corpus from which the comments of people are generated; see
+     * {@link com.arakelian.faker.service.RandomData#text(String)}. The bundled corpus is small, a
+     * few thousand words with a vocabulary of several hundred, which makes comments read naturally
+     * but gives them far fewer distinct terms than real text. When comments are used to test
+     * compression or full-text indexes, configure a large corpus of your own.
+     *
+     * @return name of the corpus from which comments are generated
+     */
+    @Value.Default
+    @Value.Auxiliary
+    public default String getCommentsCorpus() {
+        return "text.comments";
+    }
+
+    /**
+     * Returns distributions of dates, keyed by name, which are used by
+     * {@link com.arakelian.faker.service.RandomData#nextDate(String)}. Dates that are not
+     * configured here are birthdates between {@link #getFromBirthday()} and
+     * {@link #getToBirthday()}.
+     *
+     * @return distributions of dates, keyed by name
+     */
+    @Value.Auxiliary
+    public Map<String, DateDistribution> getDateDistributions();
+
+    /**
+     * Returns distributions of numeric values, keyed by name, which are used by
+     * {@link com.arakelian.faker.service.RandomData#nextDouble(String)}.
+     *
+     * @return distributions of numeric values, keyed by name
+     */
+    @Value.Auxiliary
+    public Map<String, Distribution> getDistributions();
+
     @Value.Default
     @Value.Auxiliary
     public default ZonedDateTime getFromBirthday() {
         return DateUtils.toZonedDateTimeUtc(1950, Month.JANUARY, 1);
     }
 
+    /**
+     * Returns the strategy used to assign ids to generated records. By default, ids are random
+     * UUIDs.
+     *
+     * @return strategy used to assign ids to generated records
+     */
+    @Value.Default
+    @Value.Auxiliary
+    public default IdStrategy getIdStrategy() {
+        return IdStrategy.RANDOM;
+    }
+
+    /**
+     * Returns the metrics hook which receives measurements of dictionary loading, sampling and
+     * record generation. By default, no measurements are taken.
+     *
+     * @return metrics hook
+     */
+    @Value.Default
+    @Value.Auxiliary
+    public default Metrics getMetrics() {
+        return Metrics.NOOP;
+    }
+
+    /**
+     * Returns the random number generator used when a caller does not supply one. If null,
+     * {@link java.util.concurrent.ThreadLocalRandom} is used.
+     *
+     * @return random number generator used when a caller does not supply one
+     */
+    @Nullable
     @Value.Default
     @Value.Auxiliary
     public default Random getRandom() {
-        return new Random(0);
+        return null;
     }
 
+    /**
+     * Returns the dataset seed. When specified, the random fields of every generated record are
+     * derived solely from the seed and the index of the record, so that datasets can be regenerated
+     * in whole or in part.
+     *
+     * <p>
+     * Two fields are not derived from the seed by default: ids come from {@link #getIdStrategy()},
+     * which assigns random UUIDs unless configured otherwise, and creation and update times (and
+     * the ages computed from them) come from {@link #getAsOf()}, which is the current time unless
+     * configured otherwise. For records that are reproducible in every field, also set an
+     * {@code asOf} time and use a deterministic id strategy such as {@link IdStrategy#SEEDED}.
+     * </p>
+     *
+     * @return dataset seed
+     */
+    @Nullable
+    @Value.Auxiliary
+    public Long getSeed();
+
     @Value.Default
     @Value.Auxiliary
     public default ZonedDateTime getToBirthday() {
         return DateUtils.toZonedDateTimeUtc(2004, Month.DECEMBER, 31);
     }
+
+    /**
+     * Returns true if rows should be drawn in proportion to their frequency, for data that has a
+     * frequency column (e.g. census names), and birthdates should follow the age pyramid of the
+     * population. Otherwise, rows and birthdates are drawn uniformly.
+     *
+     * @return true if rows should be drawn in proportion to their frequency
+     */
+    @Value.Default
+    @Value.Auxiliary
+    public default boolean isWeighted() {
+        return false;
+    }
 }
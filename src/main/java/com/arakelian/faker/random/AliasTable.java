@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.random;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Samples indexes from a discrete, weighted distribution in constant time using Vose's alias
+ * method.
+ *
+ * <p>
+ * The table is built once in O(n) time; each draw then costs a single random integer, a single
+ * random double and two array lookups, regardless of the number of weights.
+ * </p>
+ */
+public final class AliasTable implements IntSampler {
+    /**
+     * Builds the tables for the weights in {@code [from, to)} into the same positions of the given
+     * arrays, so that many small distributions can share a single pair of arrays. Aliases are
+     * positions in the arrays, rather than offsets from {@code from}.
+     *
+     * @param weights
+     *            weights, which must be non-negative and have a positive sum within the range
+     * @param from
+     *            first position, inclusive
+     * @param to
+     *            last position, exclusive
+     * @param probability
+     *            receives the probability of each column
+     * @param alias
+     *            receives the alias of each column
+     */
+    public static void build(
+            final double[] weights,
+            final int from,
+            final int to,
+            final double[] probability,
+            final int[] alias) {
+        Preconditions.checkArgument(from < to, "range must be non-empty");
+        final int size = to - from;
+        double total = 0;
+        for (int i = from; i < to; i++) {
+            final double weight = weights[i];
+            Preconditions.checkArgument(weight >= 0 && !Double.isInfinite(weight), "invalid weight: %s", weight);
+            total += weight;
+        }
+        Preconditions.checkArgument(total > 0, "sum of weights must be positive");
+
+        // scale weights so that average is 1.0
+        final double[] scaled = new double[size];
+        final int[] small = new int[size];
+        final int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < size; i++) {
+            scaled[i] = weights[from + i] * size / total;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        while (smallCount != 0 && largeCount != 0) {
+            final int less = small[--smallCount];
+            final int more = large[--largeCount];
+
+            probability[from + less] = scaled[less];
+            alias[from + less] = from + more;
+
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+
+        // remaining entries are 1.0, modulo floating point error
+        while (largeCount != 0) {
+            final int index = from + large[--largeCount];
+            probability[index] = 1.0;
+            alias[index] = index;
+        }
+        while (smallCount != 0) {
+            final int index = from + small[--smallCount];
+            probability[index] = 1.0;
+            alias[index] = index;
+        }
+    }
+
+    /**
+     * Reads a table that was written by {@link #write(DataOutputStream)}.
+     *
+     * @param buf
+     *            source buffer, positioned at the start of the table
+     * @return alias table
+     */
+    public static AliasTable read(final ByteBuffer buf) {
+        final int size = buf.getInt();
+        final double[] probability = new double[size];
+        buf.asDoubleBuffer().get(probability);
+        buf.position(buf.position() + size * Double.BYTES);
+        final int[] alias = new int[size];
+        buf.asIntBuffer().get(alias);
+        buf.position(buf.position() + size * Integer.BYTES);
+        return new AliasTable(probability, alias);
+    }
+
+    private final double[] probability;
+
+    private final int[] alias;
+
+    private AliasTable(final double[] probability, final int[] alias) {
+        this.probability = probability;
+        this.alias = alias;
+    }
+
+    public AliasTable(final double[] weights) {
+        Preconditions.checkArgument(weights != null && weights.length != 0, "weights must be non-empty");
+        probability = new double[weights.length];
+        alias = new int[weights.length];
+        build(weights, 0, weights.length, probability, alias);
+    }
+
+    /**
+     * Returns an estimate of the heap used by this table.
+     *
+     * @return estimated size, in bytes
+     */
+    public long getRetainedSize() {
+        return 32 + (long) probability.length * Double.BYTES + (long) alias.length * Integer.BYTES;
+    }
+
+    @Override
+    public int next(final Random random) {
+        final int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+
+    public int size() {
+        return probability.length;
+    }
+
+    public void write(final DataOutputStream out) throws IOException {
+        out.writeInt(probability.length);
+        for (final double p : probability) {
+            out.writeDouble(p);
+        }
+        for (final int a : alias) {
+            out.writeInt(a);
+        }
+    }
+}
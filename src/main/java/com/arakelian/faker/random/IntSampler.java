@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.random;
+
+import java.util.Random;
+
+/**
+ * Draws integers from a distribution whose tables have been computed in advance, so that each
+ * draw costs a constant amount of time and allocates nothing.
+ */
+@FunctionalInterface
+public interface IntSampler {
+    /**
+     * Returns the next value from this distribution.
+     *
+     * @param random
+     *            random number generator
+     * @return the next value
+     */
+    public int next(Random random);
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.random;
+
+import java.util.Arrays;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A set of primitive longs, stored in a single open-addressed array. The table is kept between
+ * 3/8 and 3/4 full, so each value costs between 10.7 and 21.3 bytes, compared to roughly 50 bytes
+ * for a boxed value in a {@link java.util.HashSet}.
+ *
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ */
+public final class LongHashSet {
+    private static final int MIN_CAPACITY = 16;
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private static int tableSizeFor(final long expectedSize) {
+        // keep load factor at or below 0.75
+        final long minimum = Math.max(MIN_CAPACITY, expectedSize + (expectedSize + 2) / 3);
+        Preconditions.checkArgument(minimum <= MAX_CAPACITY, "Too many values: %s", expectedSize);
+        return Integer.highestOneBit((int) minimum - 1) << 1;
+    }
+
+    /** Slots; zero marks an empty slot, so zero itself is tracked separately **/
+    private long[] table;
+
+    private boolean containsZero;
+
+    private long size;
+
+    public LongHashSet() {
+        this(0);
+    }
+
+    /**
+     * Creates a set that can hold the given number of values without resizing.
+     *
+     * @param expectedSize
+     *            expected number of values
+     */
+    public LongHashSet(final long expectedSize) {
+        Preconditions.checkArgument(expectedSize >= 0, "expectedSize must be non-negative");
+        table = new long[tableSizeFor(expectedSize)];
+    }
+
+    /**
+     * Adds the given value to the set.
+     *
+     * @param value
+     *            value to add
+     * @return true if the value was added, or false if it was already present
+     */
+    public boolean add(final long value) {
+        if (value == 0) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+
+        final int mask = table.length - 1;
+        for (int slot = (int) SeededRandom.mix(value) & mask;; slot = slot + 1 & mask) {
+            final long existing = table[slot];
+            if (existing == value) {
+                return false;
+            }
+            if (existing == 0) {
+                table[slot] = value;
+                size++;
+                if (size > table.length - (table.length >> 2)) {
+                    resize();
+                }
+                return true;
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0);
+        containsZero = false;
+        size = 0;
+    }
+
+    public boolean contains(final long value) {
+        if (value == 0) {
+            return containsZero;
+        }
+
+        final int mask = table.length - 1;
+        for (int slot = (int) SeededRandom.mix(value) & mask;; slot = slot + 1 & mask) {
+            final long existing = table[slot];
+            if (existing == value) {
+                return true;
+            }
+            if (existing == 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Returns an estimate of the heap used by this set.
+     *
+     * @return estimated size, in bytes
+     */
+    public long getRetainedSize() {
+        return 32 + 16 + (long) table.length * Long.BYTES;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void resize() {
+        Preconditions.checkState(table.length < MAX_CAPACITY, "Too many values: %s", size);
+        final long[] old = table;
+        table = new long[old.length << 1];
+        final int mask = table.length - 1;
+        for (final long value : old) {
+            if (value != 0) {
+                int slot = (int) SeededRandom.mix(value) & mask;
+                while (table[slot] != 0) {
+                    slot = slot + 1 & mask;
+                }
+                table[slot] = value;
+            }
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+}
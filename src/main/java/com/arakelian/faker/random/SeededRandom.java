@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.random;
+
+import java.util.Random;
+
+/**
+ * A fast, non-thread-safe {@link Random} based on the SplitMix64 algorithm (the same algorithm
+ * used by {@link java.util.SplittableRandom}).
+ *
+ * <p>
+ * Unlike {@link Random}, a generator can be derived directly from a {@code (seed, index)} pair
+ * using {@link #forRecord(long, long)}, so that the N-th record of a dataset can be reproduced
+ * without generating the records that come before it. Workers can therefore generate disjoint
+ * slices of an identical dataset without sharing any state.
+ * </p>
+ */
+public class SeededRandom extends Random {
+    private static final long serialVersionUID = 1L;
+
+    /** Odd constant from SplitMix64; golden ratio scaled to 64 bits **/
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    /**
+     * Returns a generator that is uniquely determined by the given seed, record index and field,
+     * so that each field of a record can be derived independently of the others.
+     *
+     * @param seed
+     *            dataset seed
+     * @param index
+     *            record index
+     * @param field
+     *            field number
+     * @return generator for the given field of the given record
+     */
+    public static SeededRandom forField(final long seed, final long index, final int field) {
+        final SeededRandom random = new SeededRandom(0);
+        random.reset(seed, index);
+        random.state = mix(random.state + GOLDEN_GAMMA * (field + 1));
+        return random;
+    }
+
+    /**
+     * Returns a generator that is uniquely determined by the given seed and record index.
+     *
+     * @param seed
+     *            dataset seed
+     * @param index
+     *            record index
+     * @return generator for the given record
+     */
+    public static SeededRandom forRecord(final long seed, final long index) {
+        final SeededRandom random = new SeededRandom(0);
+        random.reset(seed, index);
+        return random;
+    }
+
+    /**
+     * Returns a well-distributed hash of the given value (the SplitMix64 finalizer).
+     *
+     * @param value
+     *            value to hash
+     * @return hashed value
+     */
+    public static long mix(final long value) {
+        long z = value;
+        z = (z ^ z >>> 30) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ z >>> 27) * 0x94d049bb133111ebL;
+        return z ^ z >>> 31;
+    }
+
+    /** Note: not initialized here because {@link Random} constructor calls {@link #setSeed(long)} **/
+    private long state;
+
+    public SeededRandom(final long seed) {
+        super(seed);
+    }
+
+    @Override
+    protected int next(final int bits) {
+        return (int) (nextLong() >>> 64 - bits);
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    /**
+     * Returns a normally distributed value using the polar method. Unlike {@link Random}, the
+     * second value that the method produces is discarded rather than cached, so that the values
+     * drawn for a record do not depend on the records drawn before it with the same instance.
+     */
+    @Override
+    @SuppressWarnings("UnsynchronizedOverridesSynchronized") // instances are confined to a thread or record
+    public double nextGaussian() {
+        double v1;
+        double v2;
+        double s;
+        do {
+            v1 = 2 * nextDouble() - 1;
+            v2 = 2 * nextDouble() - 1;
+            s = v1 * v1 + v2 * v2;
+        } while (s >= 1 || s == 0);
+        return v1 * StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+    }
+
+    @Override
+    public int nextInt() {
+        return (int) nextLong();
+    }
+
+    @Override
+    public long nextLong() {
+        state += GOLDEN_GAMMA;
+        return mix(state);
+    }
+
+    /**
+     * Repositions this generator at the start of the stream for the given record, which allows a
+     * single instance to be reused across records.
+     *
+     * @param seed
+     *            dataset seed
+     * @param index
+     *            record index
+     */
+    public void reset(final long seed, final long index) {
+        state = mix(mix(seed) + GOLDEN_GAMMA * (index + 1));
+    }
+
+    @Override
+    public synchronized void setSeed(final long seed) {
+        state = seed;
+    }
+}
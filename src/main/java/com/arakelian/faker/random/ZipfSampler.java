@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.random;
+
+import java.util.Random;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Samples ranks from a Zipf distribution, in which the probability of rank {@code k} is
+ * proportional to {@code 1 / (k + 1)^exponent}, so that rank zero is the most frequent.
+ *
+ * <p>
+ * Uses the rejection-inversion method of Hormann and Derflinger, which needs no tables: each draw
+ * costs a constant expected number of random doubles (fewer than 1.1 for typical exponents),
+ * regardless of the number of ranks. Instances are immutable and thread-safe.
+ * </p>
+ */
+public final class ZipfSampler implements IntSampler {
+    /**
+     * Returns {@code log(1 + x) / x}, accurate for values of {@code x} close to zero.
+     */
+    private static double helper1(final double x) {
+        if (Math.abs(x) > 1e-8) {
+            return Math.log1p(x) / x;
+        }
+        return 1 - x * (0.5 - x * (1.0 / 3.0 - 0.25 * x));
+    }
+
+    /**
+     * Returns {@code (exp(x) - 1) / x}, accurate for values of {@code x} close to zero.
+     */
+    private static double helper2(final double x) {
+        if (Math.abs(x) > 1e-8) {
+            return Math.expm1(x) / x;
+        }
+        return 1 + x * 0.5 * (1 + x * 1.0 / 3.0 * (1 + 0.25 * x));
+    }
+
+    private final int size;
+
+    private final double exponent;
+
+    private final double hIntegralX1;
+
+    private final double hIntegralSize;
+
+    private final double s;
+
+    /**
+     * Creates a sampler over the ranks {@code [0, size)}.
+     *
+     * @param size
+     *            number of ranks
+     * @param exponent
+     *            skew of the distribution; larger values concentrate draws on fewer ranks
+     */
+    public ZipfSampler(final int size, final double exponent) {
+        Preconditions.checkArgument(size > 0, "size must be positive");
+        Preconditions.checkArgument(exponent > 0 && !Double.isInfinite(exponent), "exponent must be positive");
+        this.size = size;
+        this.exponent = exponent;
+        this.hIntegralX1 = hIntegral(1.5) - 1.0;
+        this.hIntegralSize = hIntegral(size + 0.5);
+        this.s = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+    }
+
+    public double getExponent() {
+        return exponent;
+    }
+
+    @Override
+    public int next(final Random random) {
+        while (true) {
+            final double u = hIntegralSize + random.nextDouble() * (hIntegralX1 - hIntegralSize);
+            final double x = hIntegralInverse(u);
+
+            int k = (int) (x + 0.5);
+            if (k < 1) {
+                k = 1;
+            } else if (k > size) {
+                k = size;
+            }
+
+            // accept if x is close enough to k, otherwise compare against area under the curve
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                return k - 1;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private double h(final double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+
+    private double hIntegral(final double x) {
+        final double logX = Math.log(x);
+        return helper2((1 - exponent) * logX) * logX;
+    }
+
+    private double hIntegralInverse(final double x) {
+        double t = x * (1 - exponent);
+        if (t < -1) {
+            // limit value to the range [-1, +inf) to avoid NaN
+            t = -1;
+        }
+        return Math.exp(helper1(t) * x);
+    }
+}
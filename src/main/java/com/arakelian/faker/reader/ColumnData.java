@@ -0,0 +1,408 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.reader;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Stores the values of a single column in a primitive array, rather than as boxed values in an
+ * array of rows.
+ */
+abstract class ColumnData {
+    static final class DoubleColumn extends ColumnData {
+        private double[] values = new double[INITIAL_CAPACITY];
+
+        public void addDouble(final double value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(size));
+            }
+            values[size++] = value;
+        }
+
+        @Override
+        protected void doAdd(final Object value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(size));
+            }
+            values[size] = value != null ? ((Number) value).doubleValue() : 0;
+        }
+
+        @Override
+        protected Object doGet(final int row) {
+            return Double.valueOf(values[row]);
+        }
+
+        @Override
+        protected long doGetRetainedSize() {
+            return ARRAY_HEADER + (long) values.length * Double.BYTES;
+        }
+
+        @Override
+        protected void doRead(final ByteBuffer buf) {
+            values = new double[size];
+            buf.asDoubleBuffer().get(values);
+            buf.position(buf.position() + size * Double.BYTES);
+        }
+
+        @Override
+        protected void doTrim() {
+            values = Arrays.copyOf(values, size);
+        }
+
+        @Override
+        protected void doWrite(final DataOutputStream out) throws IOException {
+            for (int i = 0; i < size; i++) {
+                out.writeDouble(values[i]);
+            }
+        }
+
+        public double getDouble(final int row) {
+            return values[row];
+        }
+    }
+
+    static final class IntColumn extends ColumnData {
+        private int[] values = new int[INITIAL_CAPACITY];
+
+        public void addInt(final int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(size));
+            }
+            values[size++] = value;
+        }
+
+        @Override
+        protected void doAdd(final Object value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(size));
+            }
+            values[size] = value != null ? ((Number) value).intValue() : 0;
+        }
+
+        @Override
+        protected Object doGet(final int row) {
+            return Integer.valueOf(values[row]);
+        }
+
+        @Override
+        protected long doGetRetainedSize() {
+            return ARRAY_HEADER + (long) values.length * Integer.BYTES;
+        }
+
+        @Override
+        protected void doRead(final ByteBuffer buf) {
+            values = new int[size];
+            buf.asIntBuffer().get(values);
+            buf.position(buf.position() + size * Integer.BYTES);
+        }
+
+        @Override
+        protected void doTrim() {
+            values = Arrays.copyOf(values, size);
+        }
+
+        @Override
+        protected void doWrite(final DataOutputStream out) throws IOException {
+            for (int i = 0; i < size; i++) {
+                out.writeInt(values[i]);
+            }
+        }
+
+        public int getInt(final int row) {
+            return values[row];
+        }
+    }
+
+    static final class LongColumn extends ColumnData {
+        private long[] values = new long[INITIAL_CAPACITY];
+
+        public void addLong(final long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(size));
+            }
+            values[size++] = value;
+        }
+
+        @Override
+        protected void doAdd(final Object value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(size));
+            }
+            values[size] = value != null ? ((Number) value).longValue() : 0;
+        }
+
+        @Override
+        protected Object doGet(final int row) {
+            return Long.valueOf(values[row]);
+        }
+
+        @Override
+        protected long doGetRetainedSize() {
+            return ARRAY_HEADER + (long) values.length * Long.BYTES;
+        }
+
+        @Override
+        protected void doRead(final ByteBuffer buf) {
+            values = new long[size];
+            buf.asLongBuffer().get(values);
+            buf.position(buf.position() + size * Long.BYTES);
+        }
+
+        @Override
+        protected void doTrim() {
+            values = Arrays.copyOf(values, size);
+        }
+
+        @Override
+        protected void doWrite(final DataOutputStream out) throws IOException {
+            for (int i = 0; i < size; i++) {
+                out.writeLong(values[i]);
+            }
+        }
+
+        public long getLong(final int row) {
+            return values[row];
+        }
+    }
+
+    static final class StringColumn extends ColumnData {
+        private String[] values = new String[INITIAL_CAPACITY];
+
+        public void addString(final String value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(size));
+            }
+            values[size++] = value;
+        }
+
+        @Override
+        protected void doAdd(final Object value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(size));
+            }
+            values[size] = (String) value;
+        }
+
+        @Override
+        protected Object doGet(final int row) {
+            return values[row];
+        }
+
+        @Override
+        protected long doGetRetainedSize() {
+            long total = ARRAY_HEADER + (long) values.length * REFERENCE;
+            for (int i = 0; i < size; i++) {
+                if (values[i] != null) {
+                    total += STRING_OVERHEAD + values[i].length();
+                }
+            }
+            return total;
+        }
+
+        @Override
+        protected void doRead(final ByteBuffer buf) {
+            // string pool is an array of offsets, followed by UTF-8 bytes of all strings
+            final int[] offsets = new int[size + 1];
+            buf.asIntBuffer().get(offsets);
+            buf.position(buf.position() + offsets.length * Integer.BYTES);
+            final byte[] pool = new byte[offsets[size]];
+            buf.get(pool);
+
+            values = new String[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = new String(pool, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.UTF_8);
+            }
+        }
+
+        @Override
+        protected void doTrim() {
+            values = Arrays.copyOf(values, size);
+        }
+
+        @Override
+        protected void doWrite(final DataOutputStream out) throws IOException {
+            final byte[][] bytes = new byte[size][];
+            int offset = 0;
+            for (int i = 0; i < size; i++) {
+                bytes[i] = values[i] != null ? values[i].getBytes(StandardCharsets.UTF_8) : EMPTY_BYTES;
+                out.writeInt(offset);
+                offset += bytes[i].length;
+            }
+            out.writeInt(offset);
+            for (int i = 0; i < size; i++) {
+                out.write(bytes[i]);
+            }
+        }
+
+        public String getString(final int row) {
+            return values[row];
+        }
+    }
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    /** Approximate size of an array header, in bytes **/
+    private static final int ARRAY_HEADER = 16;
+
+    /** Approximate size of an object reference, in bytes **/
+    private static final int REFERENCE = 4;
+
+    /** Approximate size of a string, excluding its characters, in bytes **/
+    private static final int STRING_OVERHEAD = 40;
+
+    private static final byte[] EMPTY_BYTES = new byte[0];
+
+    public static ColumnData of(final TextReader.Type type) {
+        switch (type) {
+        case STRING:
+            return new StringColumn();
+        case INT:
+            return new IntColumn();
+        case LONG:
+            return new LongColumn();
+        case DOUBLE:
+            return new DoubleColumn();
+        default:
+            throw new IllegalStateException("Unsupported type: " + type);
+        }
+    }
+
+    /**
+     * Reads a column that was written by {@link #write(DataOutputStream)}.
+     *
+     * @param type
+     *            column type
+     * @param size
+     *            number of values
+     * @param buf
+     *            source buffer, positioned at the start of the column
+     * @return column data
+     */
+    public static ColumnData read(final TextReader.Type type, final int size, final ByteBuffer buf) {
+        final ColumnData column = of(type);
+        column.size = size;
+
+        final int words = buf.getInt();
+        if (words != 0) {
+            final long[] bits = new long[words];
+            buf.asLongBuffer().get(bits);
+            buf.position(buf.position() + words * Long.BYTES);
+            column.nulls = BitSet.valueOf(bits);
+        }
+
+        column.doRead(buf);
+        return column;
+    }
+
+    private static int grow(final int size) {
+        return size + (size >> 1) + 1;
+    }
+
+    /** Number of values in column **/
+    protected int size;
+
+    /** Rows which have a null value; allocated only if there are any **/
+    private BitSet nulls;
+
+    public final void add(final Object value) {
+        if (value == null) {
+            if (nulls == null) {
+                nulls = new BitSet();
+            }
+            nulls.set(size);
+        }
+        doAdd(value);
+        size++;
+    }
+
+    public final void addNull() {
+        add(null);
+    }
+
+    /**
+     * Stores the given value, which may be null, at index {@link #size}.
+     *
+     * @param value
+     *            value to store
+     */
+    protected abstract void doAdd(Object value);
+
+    protected abstract Object doGet(int row);
+
+    protected abstract long doGetRetainedSize();
+
+    protected abstract void doRead(ByteBuffer buf);
+
+    protected abstract void doTrim();
+
+    protected abstract void doWrite(DataOutputStream out) throws IOException;
+
+    public final Object get(final int row) {
+        if (isNull(row)) {
+            return null;
+        }
+        return doGet(row);
+    }
+
+    /**
+     * Returns an estimate of the heap used by this column.
+     *
+     * @return estimated size, in bytes
+     */
+    public final long getRetainedSize() {
+        return doGetRetainedSize() + (nulls != null ? nulls.size() / Byte.SIZE : 0);
+    }
+
+    public final boolean isNull(final int row) {
+        return nulls != null && nulls.get(row);
+    }
+
+    public final int size() {
+        return size;
+    }
+
+    /**
+     * Releases unused capacity once all values have been added.
+     */
+    public final void trim() {
+        doTrim();
+    }
+
+    /**
+     * Writes the column in a compact binary form, which is read by
+     * {@link #read(TextReader.Type, int, ByteBuffer)}.
+     *
+     * @param out
+     *            destination
+     * @throws IOException
+     *             if column cannot be written
+     */
+    public final void write(final DataOutputStream out) throws IOException {
+        final long[] bits = nulls != null ? nulls.toLongArray() : new long[0];
+        out.writeInt(bits.length);
+        for (final long word : bits) {
+            out.writeLong(word);
+        }
+        doWrite(out);
+    }
+}
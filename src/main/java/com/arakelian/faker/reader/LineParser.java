@@ -0,0 +1,379 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.reader;
+
+import com.arakelian.faker.reader.ColumnData.DoubleColumn;
+import com.arakelian.faker.reader.ColumnData.IntColumn;
+import com.arakelian.faker.reader.ColumnData.LongColumn;
+import com.arakelian.faker.reader.ColumnData.StringColumn;
+import com.arakelian.faker.reader.TextReader.Column;
+import com.arakelian.faker.reader.TextReader.Format;
+import com.google.common.base.Preconditions;
+
+/**
+ * Splits lines of text into columns, and parses column values, directly from a character buffer.
+ * Fields are trimmed and numbers are parsed in place, without creating intermediate strings, and
+ * repeated string values share a single instance.
+ *
+ * <p>
+ * A parser is not thread-safe when parsing into {@link ColumnData}, since its string pool is not
+ * synchronized; {@link #parse(char[], int, int)} may be called concurrently.
+ * </p>
+ */
+final class LineParser {
+    /** Powers of ten that are exactly representable as a double **/
+    private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9,
+            1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+    /** Largest mantissa for which the fast double parsing path is exact **/
+    private static final long MAX_EXACT_MANTISSA = (1L << 53) - 1;
+
+    private static boolean isDigit(final char ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    private static NumberFormatException numberFormatException(
+            final char[] buf,
+            final int start,
+            final int end) {
+        return new NumberFormatException("For input string: \"" + new String(buf, start, end - start) + "\"");
+    }
+
+    /**
+     * Parses a double. Decimals with at most 15 significant digits, which includes all of the
+     * bundled dictionaries, are computed exactly from an integer mantissa and a power of ten;
+     * anything else is delegated to {@link Double#parseDouble(String)}.
+     */
+    static double parseDouble(final char[] buf, final int start, final int end) {
+        if (start == end) {
+            throw numberFormatException(buf, start, end);
+        }
+        int i = start;
+        final boolean negative = buf[i] == '-';
+        if (negative || buf[i] == '+') {
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean point = false;
+        boolean any = false;
+        for (; i < end; i++) {
+            final char ch = buf[i];
+            if (isDigit(ch)) {
+                any = true;
+                mantissa = mantissa * 10 + (ch - '0');
+                if (mantissa != 0) {
+                    digits++;
+                }
+                if (point) {
+                    scale++;
+                }
+            } else if (ch == '.' && !point) {
+                point = true;
+            } else {
+                break;
+            }
+        }
+
+        if (i != end || !any || digits > 15 || scale >= POWERS_OF_TEN.length || mantissa > MAX_EXACT_MANTISSA) {
+            try {
+                return Double.parseDouble(new String(buf, start, end - start));
+            } catch (final NumberFormatException e) {
+                throw numberFormatException(buf, start, end);
+            }
+        }
+
+        final double value = mantissa / POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses a long, with the same rules as {@link Long#parseLong(String)}.
+     */
+    static long parseLong(final char[] buf, final int start, final int end) {
+        if (start == end) {
+            throw numberFormatException(buf, start, end);
+        }
+        int i = start;
+        final boolean negative = buf[i] == '-';
+        if (negative || buf[i] == '+') {
+            i++;
+        }
+        if (i == end) {
+            throw numberFormatException(buf, start, end);
+        }
+
+        // accumulate negatively, since Long.MIN_VALUE has no positive counterpart
+        final long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        final long multiplyLimit = limit / 10;
+        long result = 0;
+        for (; i < end; i++) {
+            final char ch = buf[i];
+            if (!isDigit(ch) || result < multiplyLimit) {
+                throw numberFormatException(buf, start, end);
+            }
+            result *= 10;
+            final int digit = ch - '0';
+            if (result < limit + digit) {
+                throw numberFormatException(buf, start, end);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    private final Format format;
+
+    private final char delimiter;
+
+    private final Column[] columns;
+
+    /** Field boundaries of most recent line parsed into {@link ColumnData} **/
+    private final int[] starts;
+
+    private final int[] ends;
+
+    /** Open-addressed table of strings seen so far, for sharing repeated values **/
+    private String[] pool = new String[1024];
+
+    private int poolSize;
+
+    public LineParser(final Format format, final char delimiter, final Column[] columns) {
+        this.format = Preconditions.checkNotNull(format);
+        this.delimiter = delimiter;
+        this.columns = Preconditions.checkNotNull(columns);
+        this.starts = new int[columns.length];
+        this.ends = new int[columns.length];
+    }
+
+    private void addToPool(final String value, final int hash) {
+        if (poolSize >= pool.length >> 1) {
+            final String[] old = pool;
+            pool = new String[old.length << 1];
+            for (final String s : old) {
+                if (s != null) {
+                    insert(s, s.hashCode());
+                }
+            }
+        }
+        insert(value, hash);
+        poolSize++;
+    }
+
+    private void insert(final String value, final int hash) {
+        final int mask = pool.length - 1;
+        int slot = hash & mask;
+        while (pool[slot] != null) {
+            slot = slot + 1 & mask;
+        }
+        pool[slot] = value;
+    }
+
+    /**
+     * Returns the string with the given characters, reusing a previous instance if there is one.
+     */
+    private String intern(final char[] buf, final int start, final int end) {
+        final int length = end - start;
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + buf[i];
+        }
+
+        final int mask = pool.length - 1;
+        for (int slot = hash & mask;; slot = slot + 1 & mask) {
+            final String candidate = pool[slot];
+            if (candidate == null) {
+                break;
+            }
+            if (candidate.length() == length && candidate.hashCode() == hash && matches(candidate, buf, start)) {
+                return candidate;
+            }
+        }
+
+        final String value = new String(buf, start, length);
+        addToPool(value, hash);
+        return value;
+    }
+
+    private boolean matches(final String candidate, final char[] buf, final int start) {
+        for (int i = 0, length = candidate.length(); i < length; i++) {
+            if (candidate.charAt(i) != buf[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses a line, returning the value of each column.
+     *
+     * @param buf
+     *            character buffer
+     * @param start
+     *            start of line
+     * @param end
+     *            end of line, excluding line terminator
+     * @return value of each column
+     */
+    public Object[] parse(final char[] buf, final int start, final int end) {
+        final int[] fieldStarts = new int[columns.length];
+        final int[] fieldEnds = new int[columns.length];
+        split(buf, start, end, fieldStarts, fieldEnds);
+
+        final Object[] row = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            final int s = fieldStarts[i];
+            final int e = fieldEnds[i];
+            if (s == -1 || s == e && columns[i].getType() != TextReader.Type.STRING) {
+                continue;
+            }
+            switch (columns[i].getType()) {
+            case STRING:
+                row[i] = new String(buf, s, e - s);
+                break;
+            case INT:
+                row[i] = Integer.valueOf(parseInt(buf, s, e));
+                break;
+            case LONG:
+                row[i] = Long.valueOf(parseLong(buf, s, e));
+                break;
+            case DOUBLE:
+                row[i] = Double.valueOf(parseDouble(buf, s, e));
+                break;
+            default:
+                throw new IllegalStateException("Unsupported type: " + columns[i].getType());
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Parses a line, appending the value of each column to the given column data.
+     *
+     * @param buf
+     *            character buffer
+     * @param start
+     *            start of line
+     * @param end
+     *            end of line, excluding line terminator
+     * @param data
+     *            column data, one per column
+     */
+    public void parse(final char[] buf, final int start, final int end, final ColumnData[] data) {
+        split(buf, start, end, starts, ends);
+
+        for (int i = 0; i < columns.length; i++) {
+            final int s = starts[i];
+            final int e = ends[i];
+            final TextReader.Type type = columns[i].getType();
+            if (s == -1 || s == e && type != TextReader.Type.STRING) {
+                data[i].addNull();
+                continue;
+            }
+            switch (type) {
+            case STRING:
+                ((StringColumn) data[i]).addString(intern(buf, s, e));
+                break;
+            case INT:
+                ((IntColumn) data[i]).addInt(parseInt(buf, s, e));
+                break;
+            case LONG:
+                ((LongColumn) data[i]).addLong(parseLong(buf, s, e));
+                break;
+            case DOUBLE:
+                ((DoubleColumn) data[i]).addDouble(parseDouble(buf, s, e));
+                break;
+            default:
+                throw new IllegalStateException("Unsupported type: " + type);
+            }
+        }
+    }
+
+    private int parseInt(final char[] buf, final int start, final int end) {
+        final long value = parseLong(buf, start, end);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw numberFormatException(buf, start, end);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Finds the trimmed boundaries of each field, or -1 for fields that are missing from the line.
+     * A delimited file with a single string column is not split or trimmed; each line is a value.
+     */
+    private void split(
+            final char[] buf,
+            final int start,
+            final int end,
+            final int[] fieldStarts,
+            final int[] fieldEnds) {
+        if (format == Format.DELIMITED && columns.length == 1 && columns[0].getType() == TextReader.Type.STRING) {
+            fieldStarts[0] = start;
+            fieldEnds[0] = end;
+            return;
+        }
+
+        if (format == Format.FIXED_WIDTH) {
+            int offset = start;
+            for (int i = 0; i < columns.length; i++) {
+                final int length = columns[i].getLength();
+                final int s = Math.min(offset, end);
+                final int e = length != 0 ? Math.min(offset + length, end) : end;
+                trim(buf, s, e, i, fieldStarts, fieldEnds);
+                offset += length;
+            }
+            return;
+        }
+
+        int s = start;
+        for (int i = 0; i < columns.length; i++) {
+            if (s > end) {
+                fieldStarts[i] = -1;
+                fieldEnds[i] = -1;
+                continue;
+            }
+            int e = s;
+            while (e < end && buf[e] != delimiter) {
+                e++;
+            }
+            trim(buf, s, e, i, fieldStarts, fieldEnds);
+            s = e + 1;
+        }
+    }
+
+    private void trim(
+            final char[] buf,
+            final int start,
+            final int end,
+            final int field,
+            final int[] fieldStarts,
+            final int[] fieldEnds) {
+        int s = start;
+        int e = end;
+        while (s < e && buf[s] <= ' ') {
+            s++;
+        }
+        while (e > s && buf[e - 1] <= ' ') {
+            e--;
+        }
+        fieldStarts[field] = s;
+        fieldEnds[field] = e;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.reader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A memory-mapped text file, together with an off-heap index of the offset of each row. Neither
+ * the file contents nor the index are stored on the Java heap, and lines are only decoded when
+ * requested.
+ */
+final class MappedText {
+    /** Files are mapped in segments of this size, since a single mapping is limited to 2GB **/
+    private static final int SEGMENT_SHIFT = 30;
+
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final MappedByteBuffer[] segments;
+
+    private final long size;
+
+    /** Offset of each row, stored outside of Java heap **/
+    private ByteBuffer offsets;
+
+    private int rowCount;
+
+    public MappedText(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            size = channel.size();
+            final int count = (int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+            segments = new MappedByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                final long position = (long) i << SEGMENT_SHIFT;
+                segments[i] = channel.map(MapMode.READ_ONLY, position, Math.min(size - position, 1L << SEGMENT_SHIFT));
+            }
+        }
+        offsets = ByteBuffer.allocateDirect(INITIAL_CAPACITY * Long.BYTES);
+    }
+
+    public void addRow(final long offset) {
+        if (offsets.capacity() < (rowCount + 1) * (long) Long.BYTES) {
+            final long capacity = Math.min(offsets.capacity() * 2L, Integer.MAX_VALUE - Long.BYTES);
+            Preconditions.checkState(capacity > offsets.capacity(), "Too many rows");
+            final ByteBuffer grown = ByteBuffer.allocateDirect((int) capacity);
+            offsets.position(0);
+            offsets.limit(rowCount * Long.BYTES);
+            grown.put(offsets);
+            grown.clear();
+            offsets = grown;
+        }
+        offsets.putLong(rowCount * Long.BYTES, offset);
+        rowCount++;
+    }
+
+    public byte get(final long position) {
+        return segments[(int) (position >>> SEGMENT_SHIFT)].get((int) (position & SEGMENT_MASK));
+    }
+
+    /**
+     * Returns the line that starts at the given offset, without its line terminator.
+     *
+     * @param start
+     *            offset of start of line
+     * @return the line that starts at the given offset
+     */
+    public String getLine(final long start) {
+        final long end = nextLine(start);
+        long last = end;
+        while (last > start && isLineTerminator(get(last - 1))) {
+            last--;
+        }
+
+        final int length = (int) Math.min(last - start, Integer.MAX_VALUE);
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = get(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public long getRowOffset(final int row) {
+        return offsets.getLong(row * Long.BYTES);
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    private boolean isLineTerminator(final byte b) {
+        return b == '\n' || b == '\r';
+    }
+
+    /**
+     * Returns the offset of the line that follows the line at the given offset.
+     *
+     * @param start
+     *            offset of start of line
+     * @return offset of start of next line, or {@link #size()} if this is the last line
+     */
+    public long nextLine(final long start) {
+        for (long position = start; position < size; position++) {
+            if (get(position) == '\n') {
+                return position + 1;
+            }
+        }
+        return size;
+    }
+
+    public long size() {
+        return size;
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.reader;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import com.google.common.primitives.Primitives;
+
+/**
+ * Converts rows to instances of a data class by calling the methods of its Jackson builder (e.g.
+ * an Immutables builder) directly. Builder methods are resolved once, when the binder is created,
+ * so converting a row costs no more than building the object by hand.
+ *
+ * @param <T>
+ *            data class
+ */
+public final class RowBinder<T> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RowBinder.class);
+
+    private static final MethodType FACTORY = MethodType.methodType(Object.class);
+
+    private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final MethodType BUILD = MethodType.methodType(Object.class, Object.class);
+
+    private static Method findBuildMethod(final Class<?> builderClass, final JsonPOJOBuilder config) {
+        final String name = config != null ? config.buildMethodName() : JsonPOJOBuilder.DEFAULT_BUILD_METHOD;
+        try {
+            return builderClass.getMethod(name);
+        } catch (final NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle findFactory(final Class<?> builderClass) throws IllegalAccessException {
+        // prefer static factory, e.g. ImmutableFoo.builder()
+        final Class<?> enclosing = builderClass.getEnclosingClass();
+        if (enclosing != null) {
+            for (final Method method : enclosing.getMethods()) {
+                if (Modifier.isStatic(method.getModifiers()) && method.getParameterCount() == 0
+                        && method.getReturnType() == builderClass) {
+                    return MethodHandles.publicLookup().unreflect(method);
+                }
+            }
+        }
+
+        try {
+            final Constructor<?> constructor = builderClass.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return MethodHandles.lookup().unreflectConstructor(constructor);
+        } catch (final NoSuchMethodException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static Method findSetter(
+            final Class<?> builderClass,
+            final JsonPOJOBuilder config,
+            final String column,
+            final Class<?> valueClass) {
+        final String prefix = config != null ? config.withPrefix() : JsonPOJOBuilder.DEFAULT_WITH_PREFIX;
+        final String name = prefix.isEmpty() ? column : prefix + StringUtils.capitalize(column);
+
+        Method named = null;
+        for (final Method method : builderClass.getMethods()) {
+            if (method.getParameterCount() != 1 || Modifier.isStatic(method.getModifiers())
+                    || !Primitives.wrap(method.getParameterTypes()[0]).isAssignableFrom(valueClass)) {
+                continue;
+            }
+            final JsonProperty property = method.getAnnotation(JsonProperty.class);
+            if (property != null && column.equals(property.value())) {
+                return method;
+            }
+            if (named == null && method.getName().equals(name)) {
+                named = method;
+            }
+        }
+        return named;
+    }
+
+    /**
+     * Returns a binder for the given data class and columns.
+     *
+     * @param dataClass
+     *            data class, which must be annotated with a Jackson builder
+     * @param columns
+     *            columns of each row
+     * @return a binder, or null if one of the columns has no matching builder method
+     */
+    public static <T> RowBinder<T> of(final Class<T> dataClass, final TextReader.Column[] columns) {
+        final String[] names = new String[columns.length];
+        final Class<?>[] valueClasses = new Class<?>[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            names[i] = columns[i].getName();
+            valueClasses[i] = columns[i].getType().getValueClass();
+        }
+        return of(dataClass, names, valueClasses);
+    }
+
+    /**
+     * Returns a binder for the given data class and fields.
+     *
+     * @param dataClass
+     *            data class, which must be annotated with a Jackson builder
+     * @param names
+     *            name of each field of a row
+     * @param valueClasses
+     *            class of the values of each field of a row
+     * @return a binder, or null if one of the fields has no matching builder method
+     */
+    public static <T> RowBinder<T> of(final Class<T> dataClass, final String[] names, final Class<?>[] valueClasses) {
+        final JsonDeserialize deserialize = dataClass.getAnnotation(JsonDeserialize.class);
+        final Class<?> builderClass = deserialize != null ? deserialize.builder() : Void.class;
+        if (builderClass == Void.class) {
+            return null;
+        }
+
+        try {
+            final JsonPOJOBuilder config = builderClass.getAnnotation(JsonPOJOBuilder.class);
+            final MethodHandle factory = findFactory(builderClass);
+            final Method build = findBuildMethod(builderClass, config);
+            if (factory == null || build == null || !dataClass.isAssignableFrom(build.getReturnType())) {
+                return null;
+            }
+
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            final MethodHandle[] setters = new MethodHandle[names.length];
+            final boolean[] primitive = new boolean[names.length];
+            for (int i = 0; i < names.length; i++) {
+                final Method setter = findSetter(builderClass, config, names[i], valueClasses[i]);
+                if (setter == null) {
+                    LOGGER.debug("No builder method for column \"{}\" of {}", names[i], dataClass);
+                    return null;
+                }
+                setters[i] = lookup.unreflect(setter).asType(SETTER);
+                primitive[i] = setter.getParameterTypes()[0].isPrimitive();
+            }
+
+            return new RowBinder<>(
+                    dataClass,
+                    factory.asType(FACTORY),
+                    setters,
+                    primitive,
+                    lookup.unreflect(build).asType(BUILD));
+        } catch (final IllegalAccessException | RuntimeException e) {
+            LOGGER.debug("Unable to bind {}", dataClass, e);
+            return null;
+        }
+    }
+
+    private final Class<T> dataClass;
+
+    private final MethodHandle factory;
+
+    private final MethodHandle[] setters;
+
+    /** True if setter takes a primitive, and must not be called with null **/
+    private final boolean[] primitive;
+
+    private final MethodHandle build;
+
+    private RowBinder(
+            final Class<T> dataClass,
+            final MethodHandle factory,
+            final MethodHandle[] setters,
+            final boolean[] primitive,
+            final MethodHandle build) {
+        this.dataClass = dataClass;
+        this.factory = factory;
+        this.setters = setters;
+        this.primitive = primitive;
+        this.build = build;
+    }
+
+    public T bind(final Object[] row) {
+        try {
+            final Object builder = factory.invokeExact();
+            for (int i = 0; i < setters.length; i++) {
+                final Object value = i < row.length ? row[i] : null;
+                if (value != null || !primitive[i]) {
+                    setters[i].invokeExact(builder, value);
+                }
+            }
+            return dataClass.cast((Object) build.invokeExact(builder));
+        } catch (final RuntimeException | Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw new IllegalArgumentException("Unable to convert row to " + dataClass.getName(), t);
+        }
+    }
+}
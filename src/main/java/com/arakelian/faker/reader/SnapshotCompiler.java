@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.reader;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Compiles text dictionaries into binary snapshots, which {@link TextReader} loads with a single
+ * bulk read (or memory mapping) instead of parsing text line by line. This is run at build time
+ * against {@code src/main/resources}.
+ */
+public class SnapshotCompiler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SnapshotCompiler.class);
+
+    /**
+     * Compiles every text resource below a source directory into a snapshot with the same relative
+     * path below a target directory.
+     *
+     * @param source
+     *            root of text resources
+     * @param target
+     *            root of snapshots
+     * @return number of snapshots written
+     * @throws IOException
+     *             if a resource could not be read, or a snapshot could not be written
+     */
+    public static int compile(final Path source, final Path target) throws IOException {
+        final List<Path> files;
+        try (Stream<Path> stream = Files.walk(source)) {
+            // dictionaries have no file extension
+            files = stream.filter(Files::isRegularFile) //
+                    .filter(path -> path.getFileName().toString().indexOf('.') == -1) //
+                    .sorted() //
+                    .collect(Collectors.toList());
+        }
+
+        for (final Path file : files) {
+            final TextReader<Object[]> reader = new TextReader<>(file.toUri().toURL(), Object[].class);
+            reader.read();
+
+            final Path snapshot = target.resolve(source.relativize(file).toString() + TextReader.SNAPSHOT_EXTENSION);
+            Files.createDirectories(snapshot.getParent());
+            try (OutputStream out = Files.newOutputStream(snapshot)) {
+                reader.writeSnapshot(out);
+            }
+            LOGGER.info("Compiled {} rows from {} to {}", reader.getRowCount(), file, snapshot);
+        }
+        return files.size();
+    }
+
+    public static void main(final String[] args) throws IOException {
+        Preconditions.checkArgument(args.length == 2, "Usage: SnapshotCompiler <source directory> <target directory>");
+        compile(Paths.get(args[0]), Paths.get(args[1]));
+    }
+}
@@ -17,13 +17,30 @@
 
 package com.arakelian.faker.reader;
 
-import java.io.BufferedReader;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
 import java.net.URL;
-import java.util.List;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -32,11 +49,12 @@ import org.immutables.value.Value;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.arakelian.faker.random.AliasTable;
 import com.arakelian.jackson.utils.JacksonUtils;
 import com.google.common.base.Charsets;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.io.ByteStreams;
 
 public class TextReader<T> {
     @Value.Immutable
@@ -65,32 +83,62 @@ public class TextReader<T> {
         DELIMITED, FIXED_WIDTH;
     }
 
+    /**
+     * Where row data is kept once a resource has been read.
+     */
+    public enum Storage {
+        /** Rows are parsed up front and stored on the heap, by column **/
+        HEAP,
+
+        /**
+         * Rows are left in a memory-mapped file and only parsed when they are accessed; intended
+         * for very large custom datasets. Requires a {@code file:} resource, and rows are always
+         * sampled uniformly.
+         **/
+        MAPPED;
+    }
+
     public enum Type {
-        STRING {
+        STRING(String.class) {
             @Override
             public Object parse(final String value) {
                 return value;
             }
         },
-        INT {
+        INT(Integer.class) {
             @Override
             public Object parse(final String value) {
                 return value.length() != 0 ? Integer.parseInt(value) : null;
             }
         },
-        LONG {
+        LONG(Long.class) {
             @Override
             public Object parse(final String value) {
                 return value.length() != 0 ? Long.parseLong(value) : null;
             }
         },
-        DOUBLE {
+        DOUBLE(Double.class) {
             @Override
             public Object parse(final String value) {
                 return value.length() != 0 ? Double.parseDouble(value) : null;
             }
         };
 
+        private final Class<?> valueClass;
+
+        private Type(final Class<?> valueClass) {
+            this.valueClass = valueClass;
+        }
+
+        /**
+         * Returns the class of values parsed by {@link #parse(String)}.
+         *
+         * @return the class of parsed values
+         */
+        public Class<?> getValueClass() {
+            return valueClass;
+        }
+
         public abstract Object parse(String value);
     }
 
@@ -98,19 +146,64 @@ public class TextReader<T> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TextReader.class);
 
+    /** Initial size of buffer used to read lines of text **/
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z0-9_]+");
 
+    /** Name of column which, if present, contains relative frequency of each row **/
+    public static final String FREQUENCY = "frequency";
+
+    /** Name of column which, if present, contains running total of {@link #FREQUENCY} **/
+    public static final String CUMULATIVE_FREQUENCY = "cumulativeFrequency";
+
+    /** Suffix of precompiled binary snapshot of a text resource, see {@link SnapshotCompiler} **/
+    public static final String SNAPSHOT_EXTENSION = ".bin";
+
+    /** Snapshot header: "FKR" followed by format version **/
+    private static final int SNAPSHOT_MAGIC = 0x464B5201;
+
+    private static String readString(final ByteBuffer buf) {
+        final byte[] bytes = new byte[buf.getInt()];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
     public static final Pattern COLUMN = Pattern.compile("([a-zA-Z]+)(?:\\(([a-zA-Z]+)(?:,([0-9]+))?\\))?");
 
     private final URL resource;
 
+    /** Location of binary snapshot, which may not exist **/
+    private final URL snapshot;
+
     private final Class<T> dataClass;
 
+    private final Storage storage;
+
     private final Map<String, String> properties = Maps.newLinkedHashMap();
 
-    private List<Object[]> rows;
+    /** True if {@link #read()} may load the binary snapshot instead of parsing text **/
+    private boolean snapshotEnabled = true;
 
-    private List<T> values;
+    /** Row data, stored by column **/
+    private ColumnData[] data;
+
+    /**
+     * Rows that have been converted to data class, populated as rows are requested; not used when
+     * data class is Object[], or with {@link Storage#MAPPED} storage
+     **/
+    private AtomicReferenceArray<T> values;
+
+    /** Converts rows to data class, or null to convert with Jackson **/
+    private RowBinder<T> binder;
+
+    private int rowCount;
 
     private Map<String, Column> columns;
 
@@ -122,28 +215,125 @@ public class TextReader<T> {
 
     private String delimiter;
 
+    /** Memory-mapped rows; only used with {@link Storage#MAPPED} **/
+    private MappedText mapped;
+
+    /**
+     * Splits and parses rows, available once the format and columns are known; released once
+     * {@link Storage#HEAP} rows have been read
+     **/
+    private LineParser parser;
+
+    /** Weighted sampler, built from {@link #FREQUENCY} column when present **/
+    private AliasTable sampler;
+
     /** Number of lines in the file **/
     private int lineCount;
 
     public TextReader(final String resourceName, final Class<T> dataClass) {
         this.resource = TextReader.class.getResource(resourceName);
         Preconditions.checkArgument(resource != null, "Resource \"" + resourceName + "\" not found");
+        this.snapshot = TextReader.class.getResource(resourceName + SNAPSHOT_EXTENSION);
         this.dataClass = Preconditions.checkNotNull(dataClass);
+        this.storage = Storage.HEAP;
     }
 
     public TextReader(final URL resource, final Class<T> dataClass) {
+        this(resource, dataClass, Storage.HEAP);
+    }
+
+    public TextReader(final URL resource, final Class<T> dataClass, final Storage storage) {
         this.resource = Preconditions.checkNotNull(resource);
         this.dataClass = Preconditions.checkNotNull(dataClass);
+        this.storage = Preconditions.checkNotNull(storage);
+        this.snapshot = storage == Storage.HEAP ? toSnapshotUrl(resource) : null;
+        Preconditions.checkArgument(
+                storage == Storage.HEAP || "file".equals(resource.getProtocol()),
+                "Storage %s requires a file, not %s",
+                storage,
+                resource);
+    }
+
+    private void buildSampler() {
+        final Column column = getColumn(FREQUENCY);
+        final int size = getRowCount();
+        if (column == null || column.getType() != Type.DOUBLE || size == 0) {
+            return;
+        }
+
+        final int index = indexOf(FREQUENCY);
+        final double[] weights = new double[size];
+        double minimum = Double.MAX_VALUE;
+        double total = 0;
+        int zeroes = 0;
+        for (int row = 0; row < size; row++) {
+            final Double frequency = getDouble(row, index);
+            weights[row] = frequency != null ? frequency.doubleValue() : 0;
+            if (weights[row] > 0) {
+                total += weights[row];
+                minimum = Math.min(minimum, weights[row]);
+            } else {
+                zeroes++;
+            }
+        }
+        if (minimum == Double.MAX_VALUE) {
+            // no usable frequencies
+            return;
+        }
+
+        if (zeroes != 0) {
+            // frequencies are rounded, e.g. rare census names are listed as 0.000; we don't want
+            // them to disappear, so we spread the mass that the cumulative frequency says is
+            // missing evenly across them, or assume half of the smallest reported value
+            double zero = minimum / 2;
+            final int cumulative = indexOf(CUMULATIVE_FREQUENCY);
+            if (cumulative != -1 && getColumn(cumulative).getType() == Type.DOUBLE) {
+                double max = 0;
+                for (int row = 0; row < size; row++) {
+                    final Double value = getDouble(row, cumulative);
+                    if (value != null) {
+                        max = Math.max(max, value.doubleValue());
+                    }
+                }
+                if (max > total) {
+                    zero = Math.min(zero, (max - total) / zeroes);
+                }
+            }
+            for (int row = 0; row < size; row++) {
+                if (weights[row] <= 0) {
+                    weights[row] = zero;
+                }
+            }
+        }
+        sampler = new AliasTable(weights);
+    }
+
+    private void checkRow(final int row) {
+        Preconditions.checkArgument(
+                row >= 0 && row < rowCount,
+                "row index '%s' is out of bounds; there are %s row(s)",
+                row,
+                rowCount);
     }
 
     protected T convert(final Object[] data) {
         if (dataClass.isAssignableFrom(Object[].class)) {
             return dataClass.cast(data);
         }
+        if (binder != null) {
+            return binder.bind(data);
+        }
         final Map<String, Object> map = toMap(data);
         return JacksonUtils.convertValue(map, dataClass);
     }
 
+    private Object get(final int row, final int column) {
+        if (data != null) {
+            return data[column].get(row);
+        }
+        return parseMapped(row)[column];
+    }
+
     public Column getColumn(final int index) {
         return columns != null ? columns.get(columnNames[index]) : null;
     }
@@ -160,6 +350,14 @@ public class TextReader<T> {
         return columnNames != null ? columnNames : EMPTY_COLUMNS;
     }
 
+    private Column[] getColumns() {
+        final Column[] list = new Column[getColumnCount()];
+        for (int i = 0; i < list.length; i++) {
+            list[i] = getColumn(i);
+        }
+        return list;
+    }
+
     public Class<T> getDataClass() {
         return dataClass;
     }
@@ -188,24 +386,59 @@ public class TextReader<T> {
         return properties.keySet();
     }
 
+    public URL getResource() {
+        return resource;
+    }
+
+    /**
+     * Returns an estimate of the heap used by the parsed rows and sampling table, excluding rows
+     * that have been converted to the data class. Rows kept in {@link Storage#MAPPED} storage do
+     * not use heap.
+     *
+     * @return estimated size, in bytes
+     */
+    public long getRetainedSize() {
+        long total = 0;
+        if (data != null) {
+            for (final ColumnData column : data) {
+                total += column.getRetainedSize();
+            }
+        }
+        if (sampler != null) {
+            total += sampler.getRetainedSize();
+        }
+        return total;
+    }
+
     public T getRow(final int row) {
-        Preconditions.checkArgument(
-                row >= 0 && row < rows.size(),
-                "row index '%s' is out of bounds; there are %s row(s)",
-                row,
-                rows.size());
+        checkRow(row);
+
+        if (values == null) {
+            return convert(getRowAsArray(row));
+        }
 
-        return values.get(row);
+        // rows are converted when first requested, so that only sampled rows are converted
+        T value = values.get(row);
+        if (value == null) {
+            value = convert(getRowAsArray(row));
+            values.lazySet(row, value);
+        }
+        return value;
     }
 
     public Object[] getRowAsArray(final int row) {
-        Preconditions.checkArgument(
-                row >= 0 && row < rows.size(),
-                "row index '%s' is out of bounds; there are %s row(s)",
-                row,
-                rows.size());
+        checkRow(row);
+
+        if (data == null) {
+            return parseMapped(row);
+        }
 
-        return rows != null ? rows.get(row) : null;
+        final int numColumns = data.length;
+        final Object[] array = new Object[numColumns];
+        for (int i = 0; i < numColumns; i++) {
+            array[i] = data[i].get(row);
+        }
+        return array;
     }
 
     public Map<String, Object> getRowAsMap(final int index) {
@@ -215,7 +448,15 @@ public class TextReader<T> {
     }
 
     public int getRowCount() {
-        return rows != null ? rows.size() : 0;
+        return rowCount;
+    }
+
+    public AliasTable getSampler() {
+        return sampler;
+    }
+
+    public Storage getStorage() {
+        return storage;
     }
 
     public String getString(final int row, final int column) {
@@ -229,8 +470,8 @@ public class TextReader<T> {
                 column,
                 getColumnCount());
 
-        final Object[] data = getRowAsArray(row);
-        final Object value = data[column];
+        checkRow(row);
+        final Object value = get(row, column);
         Preconditions.checkState(
                 value == null || clazz.isInstance(value),
                 "Column '%s' is not %s (row index: %s)",
@@ -240,9 +481,78 @@ public class TextReader<T> {
         return clazz.cast(value);
     }
 
+    public int indexOf(final String name) {
+        final String[] names = getColumnNames();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean isSnapshotEnabled() {
+        return snapshotEnabled;
+    }
+
+    public boolean isWeighted() {
+        return sampler != null;
+    }
+
+    private void load() throws IOException {
+        if (storage == Storage.MAPPED) {
+            readMapped();
+            return;
+        }
+
+        final ByteBuffer buf = openSnapshot();
+        if (buf != null) {
+            LOGGER.debug("Reading snapshot {}", snapshot);
+            try {
+                if (readSnapshot(buf)) {
+                    LOGGER.debug("Loaded {} rows from {}", getRowCount(), snapshot);
+                    return;
+                }
+            } catch (final IllegalStateException | IllegalArgumentException | BufferUnderflowException e) {
+                throw new IOException("Unable to load snapshot: " + snapshot, e);
+            }
+            LOGGER.debug("Ignoring incompatible snapshot {}", snapshot);
+            reset();
+        }
+
+        LOGGER.debug("Reading {}", resource);
+        try (Reader reader = new InputStreamReader(resource.openConnection().getInputStream(), Charsets.UTF_8)) {
+            readText(reader);
+            trimToSize();
+            buildSampler();
+
+            // parser, and its pool of strings, is only needed to parse mapped rows on access
+            parser = null;
+        } catch (final IllegalStateException | IllegalArgumentException | IOException e) {
+            throw new IOException("Unable to load resource: " + resource, e);
+        } finally {
+            LOGGER.debug("Loaded {} rows from {}", getRowCount(), resource);
+        }
+    }
+
+    /**
+     * Returns the index of a random row. If the data has a {@link #FREQUENCY} column, rows are
+     * selected in proportion to their frequency; otherwise, rows are selected uniformly.
+     *
+     * @param random
+     *            random number generator
+     * @return index of a random row
+     */
+    public int nextWeightedIndex(final Random random) {
+        if (sampler != null) {
+            return sampler.next(random);
+        }
+        return random.nextInt(getRowCount());
+    }
+
     private void parseColumns(final String value) throws IOException {
         Preconditions.checkState(columns == null, "columns can only be specified once");
-        Preconditions.checkState(rows == null, "columns cannot be specified after rows have been ingested");
+        Preconditions.checkState(rowCount == 0, "columns cannot be specified after rows have been ingested");
 
         columns = Maps.newLinkedHashMap();
         final Matcher matcher = COLUMN.matcher(value);
@@ -287,64 +597,37 @@ public class TextReader<T> {
         }
     }
 
-    private Object[] parseFixedWidth(final String line) {
-        final int numColumns = getColumnCount();
-
-        final Object[] data = new Object[numColumns];
-
-        int offset = 0;
-        for (int i = 0; i < numColumns; i++) {
-            final Column column = getColumn(i);
-            final String value;
-
-            final int length = column.getLength();
-            if (length != 0) {
-                value = StringUtils.substring(line, offset, offset + length);
-            } else {
-                value = StringUtils.substring(line, offset);
-            }
-
-            final String trimmed = StringUtils.trimToEmpty(value);
-            data[i] = column.getType().parse(trimmed);
-            offset += length;
-        }
+    private void parseLine(final char[] buf, final int start, final int end) throws IOException {
+        lineCount++;
 
-        return data;
-    }
-
-    private void parseLine(final String line) throws IOException {
-        if (StringUtils.isEmpty(line)) {
+        // tolerate Windows line endings
+        final int length = end > start && buf[end - 1] == '\r' ? end - 1 : end;
+        if (length == start) {
             // skip empty lines
             return;
         }
 
-        if (StringUtils.startsWith(line, "#")) {
-            parseComment(line);
+        if (buf[start] == '#') {
+            parseComment(new String(buf, start, length - start));
             return;
         }
 
-        if (rows == null) {
+        if (data == null) {
             preflightChecks();
-            rows = Lists.newArrayList();
-            values = Lists.newArrayList();
+            final int numColumns = getColumnCount();
+            data = new ColumnData[numColumns];
+            for (int i = 0; i < numColumns; i++) {
+                data[i] = ColumnData.of(getColumn(i).getType());
+            }
         }
 
-        final Object[] data;
-        switch (format) {
-        case DELIMITED:
-            // FIXME: this is a hack
-            data = new Object[] { line };
-            break;
-        case FIXED_WIDTH:
-            data = parseFixedWidth(line);
-            break;
-        default:
-            throw new IllegalStateException("Unsupported format: " + format);
-        }
+        parser.parse(buf, start, length, data);
+        rowCount++;
+    }
 
-        rows.add(data);
-        final T value = convert(data);
-        values.add(value);
+    private Object[] parseMapped(final int row) {
+        final char[] line = mapped.getLine(mapped.getRowOffset(row)).toCharArray();
+        return parser.parse(line, 0, line.length);
     }
 
     private void preflightChecks() throws IOException {
@@ -373,12 +656,12 @@ public class TextReader<T> {
 
             // verify delimiter
             Preconditions.checkArgument(
-                    delimiter.length() == 1 || delimiter.length() == 2 && delimiter.charAt(0) == '/',
+                    delimiter.length() == 1 || delimiter.length() == 2 && delimiter.charAt(0) == '\\',
                     "delimiter must be a single character or escape sequence (\\n, \\t, etc)");
-            if (delimiter.charAt(0) == '\\') {
+            if (delimiter.length() == 2) {
                 switch (delimiter.charAt(1)) {
                 case 't':
-                    delimiter = "\\t";
+                    delimiter = "\t";
                     break;
                 default:
                     throw new IllegalStateException("Invalid delimiter escape sequence: " + delimiter);
@@ -395,6 +678,8 @@ public class TextReader<T> {
             }
         }
 
+        parser = new LineParser(format, format == Format.DELIMITED ? delimiter.charAt(0) : '\t', getColumns());
+
         // logging
         LOGGER.debug("Format: {}", format);
         for (final String name : getColumnNames()) {
@@ -403,34 +688,200 @@ public class TextReader<T> {
         }
     }
 
-    public void read() throws IOException {
-        LOGGER.debug("Reading {}", resource);
+    /**
+     * Maps the binary snapshot of this resource into memory, or reads it in a single bulk read if
+     * it is not a file.
+     *
+     * @return snapshot contents, or null if there is no usable snapshot
+     */
+    private ByteBuffer openSnapshot() {
+        if (snapshot == null || !snapshotEnabled) {
+            return null;
+        }
 
+        try {
+            if ("file".equals(snapshot.getProtocol())) {
+                final Path path = Paths.get(snapshot.toURI());
+                if (!Files.isRegularFile(path)) {
+                    return null;
+                }
+                if ("file".equals(resource.getProtocol()) && Files.getLastModifiedTime(Paths.get(resource.toURI()))
+                        .compareTo(Files.getLastModifiedTime(path)) > 0) {
+                    LOGGER.debug("Ignoring stale snapshot {}", snapshot);
+                    return null;
+                }
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    return channel.map(MapMode.READ_ONLY, 0, channel.size());
+                }
+            }
+
+            try (InputStream in = snapshot.openStream()) {
+                return ByteBuffer.wrap(ByteStreams.toByteArray(in));
+            }
+        } catch (final IOException | URISyntaxException | IllegalArgumentException e) {
+            // snapshots are optional
+            LOGGER.trace("No snapshot available for {}", resource, e);
+            return null;
+        }
+    }
+
+    public void read() throws IOException {
         reset();
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(resource.openConnection().getInputStream(), Charsets.UTF_8))) {
-            lineCount = 0;
-            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+        load();
+
+        if (!dataClass.isAssignableFrom(Object[].class)) {
+            binder = RowBinder.of(dataClass, getColumns());
+            if (data != null) {
+                values = new AtomicReferenceArray<>(rowCount);
+            }
+        }
+    }
+
+    /**
+     * Maps the resource into memory and indexes the offset of each row, without parsing the rows
+     * themselves.
+     *
+     * @throws IOException
+     *             if the resource cannot be read
+     */
+    private void readMapped() throws IOException {
+        LOGGER.debug("Mapping {}", resource);
+        try {
+            final MappedText text = new MappedText(Paths.get(resource.toURI()));
+            for (long offset = 0, size = text.size(); offset < size; offset = text.nextLine(offset)) {
                 lineCount++;
-                parseLine(line);
+                final byte first = text.get(offset);
+                if (first == '#') {
+                    parseComment(text.getLine(offset));
+                } else if (first != '\n' && first != '\r') {
+                    if (rowCount == 0) {
+                        preflightChecks();
+                    }
+                    text.addRow(offset);
+                    rowCount++;
+                }
             }
-        } catch (final IllegalStateException | IllegalArgumentException | IOException e) {
+            mapped = text;
+        } catch (final IllegalStateException | IllegalArgumentException | URISyntaxException | IOException e) {
             throw new IOException("Unable to load resource: " + resource, e);
         } finally {
-            LOGGER.debug("Loaded {} rows from {}", getRowCount(), resource);
+            LOGGER.debug("Mapped {} rows from {}", getRowCount(), resource);
+        }
+    }
+
+    /**
+     * Reads lines of text into a reusable character buffer, and parses each row in place.
+     *
+     * @param reader
+     *            source of text
+     * @throws IOException
+     *             if the text cannot be read or parsed
+     */
+    private void readText(final Reader reader) throws IOException {
+        char[] buf = new char[BUFFER_SIZE];
+        int end = 0;
+        int scan = 0;
+        for (int n; (n = reader.read(buf, end, buf.length - end)) != -1;) {
+            end += n;
+
+            int start = 0;
+            for (; scan < end; scan++) {
+                if (buf[scan] == '\n') {
+                    parseLine(buf, start, scan);
+                    start = scan + 1;
+                }
+            }
+
+            // move partial line to front of buffer, growing it if the line does not fit
+            if (start != 0) {
+                System.arraycopy(buf, start, buf, 0, end - start);
+                end -= start;
+                scan -= start;
+            } else if (end == buf.length) {
+                buf = Arrays.copyOf(buf, buf.length << 1);
+            }
+        }
+
+        // last line may not have a line terminator
+        if (end != 0) {
+            parseLine(buf, 0, end);
         }
     }
 
+    private boolean readSnapshot(final ByteBuffer buf) {
+        if (buf.remaining() < Integer.BYTES || buf.getInt() != SNAPSHOT_MAGIC) {
+            return false;
+        }
+
+        for (int i = 0, size = buf.getInt(); i < size; i++) {
+            properties.put(readString(buf), readString(buf));
+        }
+        format = Format.valueOf(readString(buf));
+        delimiter = StringUtils.defaultIfEmpty(readString(buf), null);
+        lineCount = buf.getInt();
+
+        columns = Maps.newLinkedHashMap();
+        for (int i = 0, size = buf.getInt(); i < size; i++) {
+            final Column column = ImmutableColumn.builder() //
+                    .name(readString(buf)) //
+                    .type(Type.valueOf(readString(buf))) //
+                    .length(buf.getInt()) //
+                    .build();
+            if (column.getLength() != 0) {
+                haveColumnWidths = true;
+            }
+            columns.put(column.getName(), column);
+        }
+        columnNames = columns.keySet().toArray(new String[columns.size()]);
+
+        rowCount = buf.getInt();
+        if (rowCount != 0) {
+            data = new ColumnData[columnNames.length];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = ColumnData.read(getColumn(i).getType(), rowCount, buf);
+            }
+        }
+
+        if (buf.get() != 0) {
+            sampler = AliasTable.read(buf);
+        }
+        return true;
+    }
+
     private void reset() {
         properties.clear();
         lineCount = 0;
-        rows = null;
+        data = null;
         values = null;
+        binder = null;
+        rowCount = 0;
         columns = null;
         columnNames = null;
         haveColumnWidths = false;
         format = null;
         delimiter = null;
+        sampler = null;
+        mapped = null;
+        parser = null;
+    }
+
+    /**
+     * Controls whether {@link #read()} may load the binary snapshot of the resource, when there is
+     * one. Disabling snapshots forces the text to be parsed, e.g. to test or measure the parser.
+     *
+     * @param snapshotEnabled
+     *            true if a snapshot may be loaded
+     */
+    public void setSnapshotEnabled(final boolean snapshotEnabled) {
+        this.snapshotEnabled = snapshotEnabled;
+    }
+
+    private void trimToSize() {
+        if (data != null) {
+            for (final ColumnData column : data) {
+                column.trim();
+            }
+        }
     }
 
     protected Map<String, Object> toMap(final Object[] data) {
@@ -441,4 +892,59 @@ public class TextReader<T> {
         }
         return map;
     }
+
+    private static URL toSnapshotUrl(final URL resource) {
+        try {
+            return new URL(resource.toExternalForm() + SNAPSHOT_EXTENSION);
+        } catch (final MalformedURLException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes the parsed contents of this resource, including its sampling table, in a compact
+     * binary form that {@link #read()} will prefer over the text resource.
+     *
+     * @param out
+     *            destination
+     * @throws IOException
+     *             if snapshot cannot be written
+     */
+    public void writeSnapshot(final OutputStream out) throws IOException {
+        Preconditions.checkState(columns != null, "Resource has not been read");
+        Preconditions.checkState(storage == Storage.HEAP, "Snapshots require %s storage", Storage.HEAP);
+
+        final DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(out));
+        dos.writeInt(SNAPSHOT_MAGIC);
+
+        dos.writeInt(properties.size());
+        for (final Map.Entry<String, String> property : properties.entrySet()) {
+            writeString(dos, property.getKey());
+            writeString(dos, property.getValue());
+        }
+        writeString(dos, format.name());
+        writeString(dos, StringUtils.defaultString(delimiter));
+        dos.writeInt(lineCount);
+
+        dos.writeInt(columnNames.length);
+        for (final String name : columnNames) {
+            final Column column = getColumn(name);
+            writeString(dos, column.getName());
+            writeString(dos, column.getType().name());
+            dos.writeInt(column.getLength());
+        }
+
+        dos.writeInt(rowCount);
+        if (rowCount != 0) {
+            for (final ColumnData column : data) {
+                column.write(dos);
+            }
+        }
+
+        dos.writeBoolean(sampler != null);
+        if (sampler != null) {
+            sampler.write(dos);
+        }
+        dos.flush();
+    }
 }
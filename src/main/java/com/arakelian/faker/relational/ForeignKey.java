@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.relational;
+
+import java.util.Random;
+
+import com.arakelian.faker.random.IntSampler;
+import com.google.common.base.Preconditions;
+
+/**
+ * Draws references to parent records, according to a {@link KeyDistribution}.
+ *
+ * <p>
+ * The distribution is bound to the number of parents when the foreign key is created; parents
+ * that are added to a {@link KeyIndex} afterwards are never referred to. Instances are
+ * thread-safe if the distribution and keys are.
+ * </p>
+ */
+public final class ForeignKey {
+    private final ParentKeys keys;
+
+    private final IntSampler sampler;
+
+    public ForeignKey(final ParentKeys keys, final KeyDistribution distribution) {
+        this.keys = Preconditions.checkNotNull(keys, "keys must be non-null");
+        Preconditions.checkNotNull(distribution, "distribution must be non-null");
+        Preconditions.checkArgument(keys.size() != 0, "keys must be non-empty");
+        this.sampler = distribution.bind(keys.size());
+    }
+
+    public ParentKeys getKeys() {
+        return keys;
+    }
+
+    /**
+     * Returns the key of a parent.
+     *
+     * @param random
+     *            random number generator
+     * @return the key of a parent
+     */
+    public String next(final Random random) {
+        return keys.get(sampler.next(random));
+    }
+
+    /**
+     * Returns the position of a parent, e.g. to look up other values of the parent through
+     * {@code at(index)}.
+     *
+     * @param random
+     *            random number generator
+     * @return the position of a parent
+     */
+    public int nextIndex(final Random random) {
+        return sampler.next(random);
+    }
+
+    @Override
+    public String toString() {
+        return "ForeignKey[size=" + keys.size() + "]";
+    }
+}
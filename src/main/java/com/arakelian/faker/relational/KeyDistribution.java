@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.relational;
+
+import com.arakelian.faker.random.IntSampler;
+import com.arakelian.faker.random.ZipfSampler;
+import com.google.common.base.Preconditions;
+import com.google.common.math.LongMath;
+
+/**
+ * Decides how often each parent is referred to by child records. A distribution is bound to the
+ * number of parents once, when a {@link ForeignKey} is created, after which each draw takes
+ * constant time.
+ */
+@FunctionalInterface
+public interface KeyDistribution {
+    /**
+     * Returns a distribution in which a given fraction of parents receives a given fraction of
+     * references, e.g. {@code hotSpot(0.2, 0.8)} for the 80/20 rule. Within each group, parents
+     * are chosen uniformly.
+     *
+     * @param hotFraction
+     *            fraction of parents that are hot
+     * @param hotProbability
+     *            probability that a reference is to a hot parent
+     * @return a distribution with a set of hot parents
+     */
+    public static KeyDistribution hotSpot(final double hotFraction, final double hotProbability) {
+        Preconditions.checkArgument(hotFraction > 0 && hotFraction < 1, "hotFraction must be between 0 and 1");
+        Preconditions.checkArgument(
+                hotProbability >= 0 && hotProbability <= 1,
+                "hotProbability must be between 0 and 1");
+        return size -> {
+            final int hot = Math.max(1, (int) (size * hotFraction));
+            final int cold = size - hot;
+            if (cold == 0) {
+                return random -> random.nextInt(size);
+            }
+            return random -> random.nextDouble() < hotProbability //
+                    ? random.nextInt(hot)
+                    : hot + random.nextInt(cold);
+        };
+    }
+
+    /**
+     * Returns a distribution in which every parent is equally likely to be referred to.
+     *
+     * @return a uniform distribution
+     */
+    public static KeyDistribution uniform() {
+        return size -> random -> random.nextInt(size);
+    }
+
+    /**
+     * Returns a distribution in which the parent of rank {@code k} is referred to with probability
+     * proportional to {@code 1 / (k + 1)^exponent}. An exponent close to 1 models the popularity
+     * of products, pages or accounts; larger exponents concentrate references on fewer parents.
+     *
+     * @param exponent
+     *            skew of the distribution
+     * @return a Zipf distribution
+     */
+    public static KeyDistribution zipf(final double exponent) {
+        Preconditions.checkArgument(exponent > 0 && !Double.isInfinite(exponent), "exponent must be positive");
+        return size -> new ZipfSampler(size, exponent);
+    }
+
+    /**
+     * Returns a sampler of parent positions in {@code [0, size)}.
+     *
+     * @param size
+     *            number of parents
+     * @return a sampler of parent positions
+     */
+    public IntSampler bind(int size);
+
+    /**
+     * Returns this distribution with the ranks spread across all parents, rather than
+     * concentrated on the first, so that the hottest parents are not also the oldest ones.
+     * Positions are permuted by multiplying by a step that is coprime with the number of parents,
+     * which costs one multiplication and one division per draw and no memory.
+     *
+     * @return this distribution, with ranks spread across all parents
+     */
+    public default KeyDistribution scrambled() {
+        return size -> {
+            final IntSampler sampler = bind(size);
+            long step = Math.max(1, (long) (size * 0.6180339887498949));
+            while (LongMath.gcd(step, size) != 1) {
+                step++;
+            }
+            final long multiplier = step;
+            return random -> (int) ((sampler.next(random) + 1L) * multiplier % size);
+        };
+    }
+}
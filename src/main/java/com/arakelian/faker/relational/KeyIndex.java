@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.relational;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Captures the primary keys of parent records as they are generated, so that child records can
+ * refer to them without the parents being kept in memory.
+ *
+ * <p>
+ * Keys are stored back to back as UTF-8 in a single byte array, with an int offset per key, so a
+ * 22-character id costs 26 bytes, compared to roughly 70 bytes for a {@link String} in a list,
+ * and nothing for the rest of the parent record. The arena is limited to 2 GB of keys.
+ * </p>
+ *
+ * <p>
+ * Adding keys is not thread-safe; once all keys have been added, an index can be read by any
+ * number of threads.
+ * </p>
+ */
+public final class KeyIndex implements ParentKeys {
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    /**
+     * Returns an index of the given keys.
+     *
+     * @param keys
+     *            keys
+     * @return an index of the given keys
+     */
+    public static KeyIndex of(final Iterable<String> keys) {
+        final KeyIndex index = new KeyIndex();
+        for (final String key : keys) {
+            index.add(key);
+        }
+        return index.trimToSize();
+    }
+
+    private static int grow(final int length, final long minimum) {
+        Preconditions.checkState(minimum <= MAX_ARRAY_SIZE, "KeyIndex is full");
+        return (int) Math.min(MAX_ARRAY_SIZE, Math.max(minimum, length + (length >> 1)));
+    }
+
+    /** Encoded keys **/
+    private byte[] bytes;
+
+    /** Key {@code i} occupies {@code bytes[offsets[i], offsets[i + 1])} **/
+    private int[] offsets;
+
+    private int size;
+
+    public KeyIndex() {
+        this(16);
+    }
+
+    /**
+     * Creates an index that can hold the given number of keys without resizing its offsets.
+     *
+     * @param expectedSize
+     *            expected number of keys
+     */
+    public KeyIndex(final int expectedSize) {
+        Preconditions.checkArgument(expectedSize >= 0, "expectedSize must be non-negative");
+        offsets = new int[expectedSize + 1];
+        bytes = new byte[Math.max(64, expectedSize * 8)];
+    }
+
+    /**
+     * Adds the given key to the index.
+     *
+     * @param key
+     *            key to add
+     * @return position of the key
+     */
+    public int add(final String key) {
+        Preconditions.checkNotNull(key, "key must be non-null");
+        if (size + 1 == offsets.length) {
+            offsets = Arrays.copyOf(offsets, grow(offsets.length, offsets.length + 1L));
+        }
+
+        final int start = offsets[size];
+        final int length = key.length();
+        ensureBytes(start + (long) length);
+
+        // ids are almost always ASCII, which we can copy without encoding
+        int end = start;
+        for (int i = 0; i < length; i++) {
+            final char ch = key.charAt(i);
+            if (ch >= 0x80) {
+                final byte[] encoded = key.getBytes(StandardCharsets.UTF_8);
+                ensureBytes(start + (long) encoded.length);
+                System.arraycopy(encoded, 0, bytes, start, encoded.length);
+                end = start + encoded.length;
+                break;
+            }
+            bytes[end++] = (byte) ch;
+        }
+
+        offsets[++size] = end;
+        return size - 1;
+    }
+
+    @Override
+    public String get(final int index) {
+        Preconditions.checkElementIndex(index, size);
+        final int start = offsets[index];
+        return new String(bytes, start, offsets[index + 1] - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns an estimate of the heap used by this index.
+     *
+     * @return estimated size, in bytes
+     */
+    public long getRetainedSize() {
+        return 48 + bytes.length + (long) offsets.length * Integer.BYTES;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "KeyIndex[size=" + size + "]";
+    }
+
+    /**
+     * Releases any capacity that is not used by the keys already added.
+     *
+     * @return this index
+     */
+    public KeyIndex trimToSize() {
+        bytes = Arrays.copyOf(bytes, offsets[size]);
+        offsets = Arrays.copyOf(offsets, size + 1);
+        return this;
+    }
+
+    private void ensureBytes(final long minimum) {
+        if (minimum > bytes.length) {
+            bytes = Arrays.copyOf(bytes, grow(bytes.length, minimum));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.relational;
+
+import java.util.function.IntFunction;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * The primary keys of a parent table, addressed by position, from which the foreign keys of child
+ * records are drawn.
+ *
+ * <p>
+ * Keys that can be computed from their position, such as sequential ids or the ids of records
+ * returned by {@code at(index)}, need no storage at all; other keys can be captured as parents
+ * are generated in a {@link KeyIndex}.
+ * </p>
+ */
+public interface ParentKeys {
+    /**
+     * Returns keys that are computed from their position by the given function.
+     *
+     * @param size
+     *            number of keys
+     * @param function
+     *            computes the key at a given position
+     * @return keys that are computed from their position
+     */
+    public static ParentKeys of(final int size, final IntFunction<String> function) {
+        Preconditions.checkArgument(size > 0, "size must be positive");
+        Preconditions.checkNotNull(function, "function must be non-null");
+        return new ParentKeys() {
+            @Override
+            public String get(final int index) {
+                Preconditions.checkElementIndex(index, size);
+                return function.apply(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Returns the numeric keys {@code first} through {@code first + size - 1}, such as those
+     * assigned by a {@link com.arakelian.faker.id.SequentialIdStrategy}.
+     *
+     * @param first
+     *            first key
+     * @param size
+     *            number of keys
+     * @return a range of numeric keys
+     */
+    public static ParentKeys range(final long first, final int size) {
+        return of(size, index -> Long.toString(first + index));
+    }
+
+    /**
+     * Returns the key at the given position.
+     *
+     * @param index
+     *            position of key, from zero
+     * @return the key at the given position
+     */
+    public String get(int index);
+
+    /**
+     * Returns the number of keys.
+     *
+     * @return the number of keys
+     */
+    public int size();
+}
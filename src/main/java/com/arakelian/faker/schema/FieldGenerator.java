@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.schema;
+
+import java.util.Random;
+
+/**
+ * Generates the value of a single field of a record. Generators are created once, when a schema
+ * is compiled, and are shared by every thread that generates records.
+ */
+@FunctionalInterface
+public interface FieldGenerator {
+    /**
+     * Returns the value of this field.
+     *
+     * @param random
+     *            random number generator of the record
+     * @param row
+     *            values of the record; fields that are declared before this one have already been
+     *            generated
+     * @return the value of this field
+     */
+    public Object next(Random random, Object[] row);
+}
@@ -0,0 +1,355 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.schema;
+
+import java.time.ZonedDateTime;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import com.arakelian.faker.distribution.DateDistribution;
+import com.arakelian.faker.distribution.Distribution;
+import com.arakelian.faker.relational.ForeignKey;
+import com.arakelian.faker.relational.KeyDistribution;
+import com.arakelian.faker.relational.ParentKeys;
+import com.arakelian.faker.service.Dictionary;
+import com.arakelian.faker.text.MarkovText;
+import com.google.common.base.Preconditions;
+
+/**
+ * Declares where the value of a field comes from: a dictionary, a distribution, or an expression
+ * derived from other fields. A source is compiled once per schema into a {@link FieldGenerator},
+ * which has any dictionaries and field references it needs already resolved.
+ */
+public interface FieldSource {
+    /**
+     * Returns a source that always returns the given value.
+     *
+     * @param value
+     *            value
+     * @return a source that always returns the given value
+     */
+    public static FieldSource constant(final Object value) {
+        Preconditions.checkNotNull(value, "value must be non-null");
+        return of(value.getClass(), context -> (random, row) -> value);
+    }
+
+    /**
+     * Returns a source of dates drawn from the given distribution, in UTC.
+     *
+     * @param distribution
+     *            distribution of dates
+     * @return a source of dates
+     */
+    public static FieldSource date(final DateDistribution distribution) {
+        Preconditions.checkNotNull(distribution, "distribution must be non-null");
+        return of(ZonedDateTime.class, context -> (random, row) -> distribution.next(random));
+    }
+
+    /**
+     * Returns a source of dates between the given dates, chosen uniformly, in UTC.
+     *
+     * @param from
+     *            earliest date, inclusive
+     * @param to
+     *            latest date, exclusive
+     * @return a source of dates between the given dates
+     */
+    public static FieldSource date(final ZonedDateTime from, final ZonedDateTime to) {
+        return date(DateDistribution.uniform(from, to));
+    }
+
+    /**
+     * Returns a source of decimals between the given values, chosen uniformly.
+     *
+     * @param min
+     *            minimum value, inclusive
+     * @param max
+     *            maximum value, exclusive
+     * @return a source of decimals between the given values
+     */
+    public static FieldSource decimal(final double min, final double max) {
+        return decimal(Distribution.uniform(min, max));
+    }
+
+    /**
+     * Returns a source of decimals drawn from the given distribution.
+     *
+     * @param distribution
+     *            distribution of values
+     * @return a source of decimals
+     */
+    public static FieldSource decimal(final Distribution distribution) {
+        Preconditions.checkNotNull(distribution, "distribution must be non-null");
+        return of(Double.class, context -> (random, row) -> distribution.next(random));
+    }
+
+    /**
+     * Returns a source of values computed from another field.
+     *
+     * @param valueClass
+     *            class of computed values
+     * @param field
+     *            name of field, which must be declared before this one
+     * @param function
+     *            computes a value from the value of the field
+     * @return a source of values computed from another field
+     */
+    @SuppressWarnings("unchecked")
+    public static <A> FieldSource derived(
+            final Class<?> valueClass,
+            final String field,
+            final Function<A, ?> function) {
+        Preconditions.checkNotNull(function, "function must be non-null");
+        return of(valueClass, context -> {
+            final int index = context.indexOf(field);
+            return (random, row) -> function.apply((A) row[index]);
+        });
+    }
+
+    /**
+     * Returns a source of values computed from two other fields.
+     *
+     * @param valueClass
+     *            class of computed values
+     * @param first
+     *            name of first field, which must be declared before this one
+     * @param second
+     *            name of second field, which must be declared before this one
+     * @param function
+     *            computes a value from the values of the fields
+     * @return a source of values computed from two other fields
+     */
+    @SuppressWarnings("unchecked")
+    public static <A, B> FieldSource derived(
+            final Class<?> valueClass,
+            final String first,
+            final String second,
+            final BiFunction<A, B, ?> function) {
+        Preconditions.checkNotNull(function, "function must be non-null");
+        return of(valueClass, context -> {
+            final int a = context.indexOf(first);
+            final int b = context.indexOf(second);
+            return (random, row) -> function.apply((A) row[a], (B) row[b]);
+        });
+    }
+
+    /**
+     * Returns a source of strings drawn from the named dictionary.
+     *
+     * @param name
+     *            name of dictionary, e.g. "name.surname"
+     * @return a source of strings drawn from the named dictionary
+     */
+    public static FieldSource dictionary(final String name) {
+        Preconditions.checkNotNull(name, "name must be non-null");
+        return of(String.class, context -> {
+            final Dictionary<Object[]> dictionary = context.getRandomData().dictionary(name);
+            return (random, row) -> dictionary.nextString(random);
+        });
+    }
+
+    /**
+     * Returns a source of epoch days, i.e. days since 1970-01-01, drawn from the given
+     * distribution. Epoch days are much cheaper to generate than dates, and map directly to the
+     * date type of most databases.
+     *
+     * @param distribution
+     *            distribution of dates
+     * @return a source of epoch days
+     */
+    public static FieldSource epochDay(final DateDistribution distribution) {
+        Preconditions.checkNotNull(distribution, "distribution must be non-null");
+        return of(Integer.class, context -> (random, row) -> distribution.nextEpochDay(random));
+    }
+
+    /**
+     * Returns a source of references to parent records, whose keys are drawn from the given
+     * distribution. The distribution is bound to the number of keys when the schema is compiled.
+     *
+     * @param keys
+     *            keys of parent records
+     * @param distribution
+     *            how often each parent is referred to
+     * @return a source of references to parent records
+     */
+    public static FieldSource foreignKey(final ParentKeys keys, final KeyDistribution distribution) {
+        Preconditions.checkNotNull(keys, "keys must be non-null");
+        Preconditions.checkNotNull(distribution, "distribution must be non-null");
+        return of(String.class, context -> {
+            final ForeignKey foreignKey = new ForeignKey(keys, distribution);
+            return (random, row) -> foreignKey.next(random);
+        });
+    }
+
+    /**
+     * Returns a source of integers drawn from the given distribution, rounded to the nearest
+     * integer.
+     *
+     * @param distribution
+     *            distribution of values
+     * @return a source of integers
+     */
+    public static FieldSource integer(final Distribution distribution) {
+        Preconditions.checkNotNull(distribution, "distribution must be non-null");
+        return of(Integer.class, context -> (random, row) -> distribution.nextInt(random));
+    }
+
+    /**
+     * Returns a source of integers between the given values, chosen uniformly.
+     *
+     * @param min
+     *            minimum value, inclusive
+     * @param max
+     *            maximum value, inclusive
+     * @return a source of integers between the given values
+     */
+    public static FieldSource integer(final int min, final int max) {
+        Preconditions.checkArgument(min <= max, "min must not be greater than max");
+        final long range = (long) max - min + 1;
+        Preconditions.checkArgument(range <= Integer.MAX_VALUE, "range is too large");
+        return of(Integer.class, context -> (random, row) -> min + random.nextInt((int) range));
+    }
+
+    /**
+     * Returns a source whose values are null with the given probability, and otherwise come from
+     * the given source.
+     *
+     * @param source
+     *            source of non-null values
+     * @param probability
+     *            probability that a value is null
+     * @return a source of values that may be null
+     */
+    public static FieldSource nullable(final FieldSource source, final double probability) {
+        Preconditions.checkArgument(probability >= 0 && probability <= 1, "probability must be between 0 and 1");
+        return of(source.getValueClass(), context -> {
+            final FieldGenerator generator = source.compile(context);
+            return (random, row) -> random.nextDouble() < probability ? null : generator.next(random, row);
+        });
+    }
+
+    /**
+     * Returns a source with the given value class, which is compiled by the given function.
+     *
+     * @param valueClass
+     *            class of values
+     * @param compiler
+     *            compiles the source
+     * @return a source with the given value class
+     */
+    public static FieldSource of(final Class<?> valueClass, final Function<SchemaContext, FieldGenerator> compiler) {
+        Preconditions.checkNotNull(valueClass, "valueClass must be non-null");
+        Preconditions.checkNotNull(compiler, "compiler must be non-null");
+        return new FieldSource() {
+            @Override
+            public FieldGenerator compile(final SchemaContext context) {
+                return compiler.apply(context);
+            }
+
+            @Override
+            public Class<?> getValueClass() {
+                return valueClass;
+            }
+        };
+    }
+
+    /**
+     * Returns a source of values chosen uniformly from the constants of the given enum.
+     *
+     * @param enumClass
+     *            enum class
+     * @return a source of enum constants
+     */
+    public static <E extends Enum<E>> FieldSource oneOf(final Class<E> enumClass) {
+        final E[] values = enumClass.getEnumConstants();
+        return of(enumClass, context -> (random, row) -> values[random.nextInt(values.length)]);
+    }
+
+    /**
+     * Returns a source of values chosen uniformly from the given values.
+     *
+     * @param valueClass
+     *            class of values
+     * @param values
+     *            values
+     * @return a source of values chosen uniformly from the given values
+     */
+    public static FieldSource oneOf(final Class<?> valueClass, final Object... values) {
+        Preconditions.checkArgument(values.length != 0, "values must be non-empty");
+        final Object[] copy = values.clone();
+        return of(valueClass, context -> (random, row) -> copy[random.nextInt(copy.length)]);
+    }
+
+    /**
+     * Returns a source of random paragraphs of words from the named dictionary.
+     *
+     * @param name
+     *            name of dictionary, e.g. "words.lorem"
+     * @param min
+     *            minimum number of paragraphs
+     * @param max
+     *            maximum number of paragraphs
+     * @return a source of random paragraphs
+     */
+    public static FieldSource paragraphs(final String name, final int min, final int max) {
+        Preconditions.checkNotNull(name, "name must be non-null");
+        return of(String.class, context -> {
+            final Dictionary<Object[]> dictionary = context.getRandomData().dictionary(name);
+            return (random, row) -> dictionary.appendParagraphs(new StringBuilder(), min, max, random).toString();
+        });
+    }
+
+    /**
+     * Returns a source of paragraphs generated from a model of the named corpus, which have the
+     * term frequencies of real text.
+     *
+     * @param name
+     *            name of corpus, e.g. "text.comments"
+     * @param min
+     *            minimum number of paragraphs
+     * @param max
+     *            maximum number of paragraphs
+     * @return a source of generated paragraphs
+     */
+    public static FieldSource text(final String name, final int min, final int max) {
+        Preconditions.checkNotNull(name, "name must be non-null");
+        return of(String.class, context -> {
+            final MarkovText text = context.getRandomData().text(name);
+            return (random, row) -> text.nextParagraphs(min, max, random);
+        });
+    }
+
+    /**
+     * Compiles this source, resolving any dictionaries or fields that it depends on.
+     *
+     * @param context
+     *            schema being compiled
+     * @return a generator of field values
+     */
+    public FieldGenerator compile(SchemaContext context);
+
+    /**
+     * Returns the class of the values of this source, which is used to bind values to builder
+     * methods of data classes.
+     *
+     * @return the class of the values of this source
+     */
+    public default Class<?> getValueClass() {
+        return Object.class;
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.schema;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+import com.arakelian.faker.reader.RowBinder;
+import com.arakelian.faker.service.AbstractRandomService;
+import com.arakelian.faker.service.RandomData;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+
+/**
+ * Generates records that are declared by a {@link RecordSchema}. The schema is compiled once,
+ * when the generator is created: dictionaries are resolved, derived fields are bound to the
+ * positions of the fields they refer to, and bean builders are bound through method handles, so
+ * that generating a record involves no lookups by name.
+ *
+ * <p>
+ * Records are available as {@code Object[]} rows, as maps, or as instances of any class with a
+ * Jackson builder, such as an Immutables class, and support everything that the hand-written
+ * services do, including seeded generation, batches, streams and publishers.
+ * </p>
+ *
+ * @param <T>
+ *            type of record
+ */
+public final class RecordGenerator<T> extends AbstractRandomService<T> {
+    /**
+     * Returns a generator of records as rows, in which values appear in the order their fields are
+     * declared.
+     *
+     * @param randomData
+     *            source of dictionaries and random numbers
+     * @param schema
+     *            record schema
+     * @return a generator of records as rows
+     */
+    public static RecordGenerator<Object[]> arrays(final RandomData randomData, final RecordSchema schema) {
+        return new RecordGenerator<>(randomData, schema, generator -> row -> row);
+    }
+
+    /**
+     * Returns a generator of records as instances of the given class, which must be annotated with
+     * a Jackson builder that has a method for every field of the schema.
+     *
+     * @param randomData
+     *            source of dictionaries and random numbers
+     * @param schema
+     *            record schema
+     * @param beanClass
+     *            class of records
+     * @return a generator of records as instances of the given class
+     * @throws IllegalArgumentException
+     *             if the fields of the schema cannot be bound to the builder
+     */
+    public static <T> RecordGenerator<T> beans(
+            final RandomData randomData,
+            final RecordSchema schema,
+            final Class<T> beanClass) {
+        return new RecordGenerator<>(randomData, schema, generator -> {
+            final RowBinder<T> binder = RowBinder.of(beanClass, generator.names, generator.valueClasses);
+            Preconditions.checkArgument(
+                    binder != null,
+                    "Unable to bind fields of %s to builder of %s",
+                    schema.getName(),
+                    beanClass.getName());
+            return binder::bind;
+        });
+    }
+
+    /**
+     * Returns a generator of records as maps, keyed by field name in the order fields are
+     * declared.
+     *
+     * @param randomData
+     *            source of dictionaries and random numbers
+     * @param schema
+     *            record schema
+     * @return a generator of records as maps
+     */
+    public static RecordGenerator<Map<String, Object>> maps(final RandomData randomData, final RecordSchema schema) {
+        return new RecordGenerator<>(randomData, schema, generator -> {
+            final String[] names = generator.names;
+            return row -> {
+                final Map<String, Object> map = Maps.newLinkedHashMapWithExpectedSize(names.length);
+                for (int i = 0; i < names.length; i++) {
+                    map.put(names[i], row[i]);
+                }
+                return map;
+            };
+        });
+    }
+
+    private final RecordSchema schema;
+
+    private final String[] names;
+
+    private final Class<?>[] valueClasses;
+
+    private final FieldGenerator[] fields;
+
+    private final Function<Object[], T> converter;
+
+    private RecordGenerator(
+            final RandomData randomData,
+            final RecordSchema schema,
+            final Function<RecordGenerator<T>, Function<Object[], T>> converter) {
+        super(randomData);
+        this.schema = Preconditions.checkNotNull(schema);
+
+        final List<SchemaField> list = schema.getFields();
+        final int size = list.size();
+        names = new String[size];
+        valueClasses = new Class<?>[size];
+        fields = new FieldGenerator[size];
+
+        final SchemaContext context = new SchemaContext(randomData);
+        for (int i = 0; i < size; i++) {
+            final SchemaField field = list.get(i);
+            names[i] = field.getName();
+            valueClasses[i] = field.getSource().getValueClass();
+            fields[i] = Preconditions.checkNotNull(
+                    field.getSource().compile(context),
+                    "Source of field \"%s\" did not compile",
+                    field.getName());
+            context.declare(field.getName());
+        }
+
+        this.converter = converter.apply(this);
+    }
+
+    @Override
+    public String getName() {
+        return schema.getName();
+    }
+
+    public RecordSchema getSchema() {
+        return schema;
+    }
+
+    @Override
+    protected Generator<T> newGenerator() {
+        return this::next;
+    }
+
+    @Override
+    public T next(final Random random) {
+        final Object[] row = new Object[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            row[i] = fields[i].next(random, row);
+        }
+        return converter.apply(row);
+    }
+}
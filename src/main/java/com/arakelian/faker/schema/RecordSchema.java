@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.schema;
+
+import java.util.List;
+import java.util.Set;
+
+import org.immutables.value.Value;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Sets;
+
+/**
+ * Declares the fields of a record, and where the value of each field comes from. Fields are
+ * generated in the order they are declared, so derived fields may refer to any field declared
+ * before them.
+ *
+ * @see RecordGenerator
+ */
+@Value.Immutable
+public interface RecordSchema {
+    public List<SchemaField> getFields();
+
+    /**
+     * Returns the name under which metrics are reported.
+     *
+     * @return the name under which metrics are reported
+     */
+    @Value.Default
+    public default String getName() {
+        return "record";
+    }
+
+    @Value.Check
+    public default void validate() {
+        Preconditions.checkState(getFields().size() != 0, "fields are required");
+        final Set<String> names = Sets.newHashSet();
+        for (final SchemaField field : getFields()) {
+            Preconditions.checkState(names.add(field.getName()), "duplicate field: %s", field.getName());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.schema;
+
+import java.util.Map;
+
+import com.arakelian.faker.service.RandomData;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+
+/**
+ * Resolves the dictionaries and field references of a field when a schema is compiled.
+ */
+public final class SchemaContext {
+    private final RandomData randomData;
+
+    /** Fields declared before the field being compiled, by name **/
+    private final Map<String, Integer> fields = Maps.newHashMap();
+
+    SchemaContext(final RandomData randomData) {
+        this.randomData = Preconditions.checkNotNull(randomData);
+    }
+
+    void declare(final String name) {
+        fields.put(name, fields.size());
+    }
+
+    public RandomData getRandomData() {
+        return randomData;
+    }
+
+    /**
+     * Returns the position of the given field within a row.
+     *
+     * @param name
+     *            field name
+     * @return position of the given field within a row
+     * @throws IllegalArgumentException
+     *             if the field is not declared before the field being compiled
+     */
+    public int indexOf(final String name) {
+        final Integer index = fields.get(name);
+        Preconditions.checkArgument(index != null, "Field \"%s\" must be declared before it is referenced", name);
+        return index.intValue();
+    }
+}
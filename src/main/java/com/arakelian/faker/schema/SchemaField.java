@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.schema;
+
+import org.apache.commons.lang3.StringUtils;
+import org.immutables.value.Value;
+
+import com.google.common.base.Preconditions;
+
+@Value.Immutable
+public interface SchemaField {
+    public static SchemaField of(final String name, final FieldSource source) {
+        return ImmutableSchemaField.of(name, source);
+    }
+
+    @Value.Parameter
+    public String getName();
+
+    @Value.Parameter
+    public FieldSource getSource();
+
+    @Value.Check
+    public default void validate() {
+        Preconditions.checkState(!StringUtils.isEmpty(getName()), "name is required");
+    }
+}
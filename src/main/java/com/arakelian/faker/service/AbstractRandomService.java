@@ -17,12 +17,253 @@
 
 package com.arakelian.faker.service;
 
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import com.arakelian.faker.metrics.Metrics;
+import com.arakelian.faker.model.PacingConfig;
+import com.arakelian.faker.random.SeededRandom;
+import com.arakelian.faker.relational.KeyIndex;
+import com.arakelian.faker.writer.RecordWriter;
+import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 
 public abstract class AbstractRandomService<T> {
+    /**
+     * Generates values using dictionaries that were resolved when the generator was created. A
+     * generator is used by a single thread, and may reuse internal state between values.
+     */
+    @FunctionalInterface
+    protected interface Generator<T> {
+        public T next(Random random);
+    }
+
+    /**
+     * Generates the values in a range of record indexes, adding the key of each value to an index
+     * as the value is generated. The spliterator cannot be split, so keys are added by a single
+     * thread in index order, and it is not sized, so that every value is generated even by
+     * operations such as {@link Stream#count()}.
+     */
+    private final class CaptureSpliterator implements Spliterator<T> {
+        private final RandomSpliterator values;
+
+        private final KeyIndex keys;
+
+        private final Function<? super T, String> key;
+
+        private CaptureSpliterator(
+                final RandomSpliterator values,
+                final KeyIndex keys,
+                final Function<? super T, String> key) {
+            this.values = values;
+            this.keys = keys;
+            this.key = key;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | IMMUTABLE | NONNULL;
+        }
+
+        @Override
+        public long estimateSize() {
+            return values.estimateSize();
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super T> action) {
+            Preconditions.checkNotNull(action);
+            values.forEachRemaining(value -> {
+                keys.add(key.apply(value));
+                action.accept(value);
+            });
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            Preconditions.checkNotNull(action);
+            return values.tryAdvance(value -> {
+                keys.add(key.apply(value));
+                action.accept(value);
+            });
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            return null;
+        }
+    }
+
+    /**
+     * Generates the values in a range of record indexes. Splits divide the range in half, and each
+     * value is derived from its own index, so parallel and sequential streams yield the same values
+     * when data is seeded.
+     */
+    private final class RandomSpliterator implements Spliterator<T> {
+        private long index;
+
+        private final long fence;
+
+        private RandomSpliterator(final long origin, final long fence) {
+            this.index = origin;
+            this.fence = fence;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super T> action) {
+            Preconditions.checkNotNull(action);
+            final long end = fence;
+            generate(index, end, (value, i) -> action.accept(value));
+            index = end;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            Preconditions.checkNotNull(action);
+            if (index < fence) {
+                action.accept(nextValue(index++));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            final long origin = index;
+            final long mid = origin + fence >>> 1;
+            if (mid <= origin) {
+                return null;
+            }
+            index = mid;
+            return new RandomSpliterator(origin, mid);
+        }
+    }
+
+    protected final RandomData randomData;
+
+    /** Index of next record, when data is seeded **/
+    private final AtomicLong sequence = new AtomicLong();
+
+    /** Receives generation metrics; null if metrics are disabled **/
+    private final Metrics metrics;
+
+    /** Generator that delegates to {@link #next(Random)} **/
+    private final Generator<T> self = this::next;
+
+    protected AbstractRandomService(final RandomData randomData) {
+        this.randomData = Preconditions.checkNotNull(randomData);
+        final Metrics metrics = randomData.getConfig().getMetrics();
+        this.metrics = metrics.isEnabled() ? metrics : null;
+    }
+
+    /**
+     * Returns a sequential stream of random values, which adds the key of each value to the given
+     * index as the value is generated, so that child records can refer to the values with
+     * {@link com.arakelian.faker.schema.FieldSource#foreignKey}. Keys are added in the order of the
+     * stream, by a single thread even if the stream is made parallel, without the values being kept
+     * in memory. Only values that are generated are captured, e.g. after {@link Stream#limit(long)}.
+     *
+     * @param count
+     *            number of values
+     * @param keys
+     *            index to which keys are added
+     * @param key
+     *            extracts the key of a value, e.g. {@code Person::getId}
+     * @return a sequential stream of random values
+     */
+    public Stream<T> capture(final long count, final KeyIndex keys, final Function<? super T, String> key) {
+        Preconditions.checkNotNull(keys, "keys must be non-null");
+        Preconditions.checkNotNull(key, "key must be non-null");
+        return StreamSupport.stream(new CaptureSpliterator(createSpliterator(count), keys, key), false);
+    }
+
+    private RandomSpliterator createSpliterator(final long count) {
+        Preconditions.checkArgument(count >= 0, "count must be non-negative");
+
+        // when seeded, stream consumes the same indexes that next() would have
+        final long origin = randomData.isSeeded() ? sequence.getAndAdd(count) : 0;
+        return new RandomSpliterator(origin, origin + count);
+    }
+
+    private Stream<T> createStream(final long count, final boolean parallel) {
+        return StreamSupport.stream(createSpliterator(count), parallel);
+    }
+
+    /**
+     * Fills the given array with random values, resolving dictionaries once for the whole array
+     * rather than once per value. If the underlying {@link RandomData} is seeded, the values are
+     * the same as those that {@link #next()} would have returned.
+     *
+     * @param values
+     *            array to fill
+     * @return the given array
+     */
+    public T[] fill(final T[] values) {
+        final long origin = randomData.isSeeded() ? sequence.getAndAdd(values.length) : 0;
+        generate(origin, origin + values.length, (value, i) -> values[(int) (i - origin)] = value);
+        return values;
+    }
+
+    /**
+     * Generates the values with indexes in the range [origin, fence) using a single generator.
+     */
+    private void generate(final long origin, final long fence, final ObjLongConsumer<T> action) {
+        final long start = metrics != null ? System.nanoTime() : 0;
+        final Generator<T> generator = newGenerator();
+        if (randomData.isSeeded()) {
+            final long seed = randomData.seed();
+            final SeededRandom random = new SeededRandom(seed);
+            for (long i = origin; i < fence; i++) {
+                random.reset(seed, i);
+                action.accept(generator.next(random), i);
+            }
+        } else {
+            final Random random = randomData.random();
+            for (long i = origin; i < fence; i++) {
+                action.accept(generator.next(random), i);
+            }
+        }
+        if (metrics != null) {
+            metrics.onRecordsGenerated(getName(), fence - origin, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Returns the name under which metrics are reported.
+     *
+     * @return the name under which metrics are reported
+     */
+    public String getName() {
+        return getClass().getSimpleName();
+    }
+
+    public RandomData getRandomData() {
+        return randomData;
+    }
+
     public Iterator<T> iteratorOf(final int count) {
         return new Iterator<T>() {
             private int index;
@@ -47,5 +288,194 @@ public abstract class AbstractRandomService<T> {
         return Lists.newArrayList(iteratorOf(count));
     }
 
-    public abstract T next();
+    /**
+     * Generates a single value, reporting how long it took if metrics are enabled.
+     *
+     * @param generator
+     *            generator
+     * @param random
+     *            random number generator
+     * @return a random value
+     */
+    T measure(final Generator<T> generator, final Random random) {
+        if (metrics == null) {
+            return generator.next(random);
+        }
+        final long start = System.nanoTime();
+        final T value = generator.next(random);
+        metrics.onRecordsGenerated(getName(), 1, System.nanoTime() - start);
+        return value;
+    }
+
+    /**
+     * Returns a generator for a batch of values. The default generator simply delegates to
+     * {@link #next(Random)}; subclasses should override this to resolve dictionaries once per
+     * batch.
+     *
+     * @return a generator for a batch of values
+     */
+    protected Generator<T> newGenerator() {
+        return this::next;
+    }
+
+    /**
+     * Returns a random value. If the underlying {@link RandomData} is seeded, values are generated
+     * in index order, starting with zero, so that the sequence of values is reproducible.
+     *
+     * @return a random value
+     */
+    public T next() {
+        if (randomData.isSeeded()) {
+            return next(sequence.getAndIncrement());
+        }
+        return measure(self, randomData.random());
+    }
+
+    /**
+     * Returns the value at the given index, which depends only on the index and the seed of the
+     * underlying {@link RandomData}.
+     *
+     * @param index
+     *            record index
+     * @return the value at the given index
+     */
+    public T next(final long index) {
+        return measure(self, randomData.random(index));
+    }
+
+    /**
+     * Returns a random value, drawing all randomness from the given generator. Services written
+     * before this method was added, which only implement {@link #next()}, can extend
+     * {@link LegacyRandomService} instead.
+     *
+     * @param random
+     *            random number generator
+     * @return a random value
+     */
+    public abstract T next(Random random);
+
+    /**
+     * Returns a list of random values, generated as a single batch; see {@link #fill(Object[])}.
+     *
+     * @param count
+     *            number of values
+     * @return a list of random values
+     */
+    public List<T> nextBatch(final int count) {
+        Preconditions.checkArgument(count >= 0, "count must be non-negative");
+        @SuppressWarnings("unchecked")
+        final T[] values = (T[]) new Object[count];
+        return Arrays.asList(fill(values));
+    }
+
+    private T nextValue(final long index) {
+        if (randomData.isSeeded()) {
+            return next(index);
+        }
+        return measure(self, randomData.random());
+    }
+
+    /**
+     * Returns a parallel stream of random values which can be split across all cores of the
+     * common fork-join pool.
+     *
+     * @param count
+     *            number of values
+     * @return a parallel stream of random values
+     */
+    public Stream<T> parallelStream(final long count) {
+        return createStream(count, true);
+    }
+
+    /**
+     * Returns a generator that produces values at the configured rate, for load testing.
+     *
+     * @param config
+     *            target rate, burst size and ramp-up
+     * @return a generator that produces values at the configured rate
+     */
+    public PacedGenerator<T> paced(final PacingConfig config) {
+        return new PacedGenerator<>(this, config);
+    }
+
+    /**
+     * Returns a publisher of random values, which generates values on the common fork-join pool as
+     * they are requested.
+     *
+     * @param count
+     *            number of values published to each subscriber
+     * @return a publisher of random values
+     */
+    public RecordPublisher<T> publisher(final long count) {
+        return publisher(count, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns a publisher of random values, which generates values on the given executor as they
+     * are requested.
+     *
+     * @param count
+     *            number of values published to each subscriber
+     * @param executor
+     *            executor used to generate values, e.g. a virtual thread executor
+     * @return a publisher of random values
+     */
+    public RecordPublisher<T> publisher(final long count, final Executor executor) {
+        Preconditions.checkArgument(count >= 0, "count must be non-negative");
+
+        // when seeded, publisher consumes the same indexes that next() would have
+        final long origin = randomData.isSeeded() ? sequence.getAndAdd(count) : 0;
+        return new RecordPublisher<>(this, origin, count, executor);
+    }
+
+    /**
+     * Returns a sequential stream of random values.
+     *
+     * @param count
+     *            number of values
+     * @return a sequential stream of random values
+     */
+    public Stream<T> stream(final long count) {
+        return createStream(count, false);
+    }
+
+    /**
+     * Returns a service that never generates two values with the same key, e.g. the same street.
+     *
+     * @param key
+     *            extracts the key of a value; see {@link UniqueRandomService#hash(CharSequence)}
+     * @return a service that generates values with unique keys
+     */
+    public UniqueRandomService<T> unique(final ToLongFunction<? super T> key) {
+        return unique(key, Long.MAX_VALUE);
+    }
+
+    /**
+     * Returns a service that never generates two values with the same key, and which reports that
+     * it is exhausted once the given number of distinct keys have been generated.
+     *
+     * @param key
+     *            extracts the key of a value; see {@link UniqueRandomService#hash(CharSequence)}
+     * @param capacity
+     *            number of distinct keys in the value space
+     * @return a service that generates values with unique keys
+     */
+    public UniqueRandomService<T> unique(final ToLongFunction<? super T> key, final long capacity) {
+        return new UniqueRandomService<>(this, key, capacity, UniqueRandomService.DEFAULT_MAX_ATTEMPTS);
+    }
+
+    /**
+     * Streams the given number of random values to a writer, without holding them in memory.
+     *
+     * @param writer
+     *            destination
+     * @param count
+     *            number of values
+     * @return number of values written
+     * @throws IOException
+     *             if values could not be written
+     */
+    public long writeTo(final RecordWriter<? super T> writer, final long count) throws IOException {
+        return writer.writeAll(stream(count).iterator());
+    }
 }
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.service;
+
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+import com.arakelian.faker.id.IdStrategy;
+import com.arakelian.faker.model.Address;
+import com.arakelian.faker.model.ImmutableAddress;
+import com.arakelian.faker.random.SeededRandom;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.util.StdConverter;
+
+/**
+ * An address that holds only its record index, and derives each field from a hash of the dataset
+ * seed, the record index and the field whenever the field is accessed; see
+ * {@link RandomAddress#at(long)}. Serializing a view, with Java serialization or Jackson, serializes
+ * an {@link ImmutableAddress} copy.
+ *
+ * <p>
+ * Ids are always drawn with {@link IdStrategy#SEEDED}, which produces 22 character ids like the
+ * default strategy, because the configured strategy may depend on the clock or on the order in
+ * which records are generated, whereas a view must return the same id every time.
+ * </p>
+ */
+@JsonSerialize(converter = AddressView.ToImmutable.class)
+final class AddressView extends Address {
+    /**
+     * Region shared by every view of a service, resolved once.
+     */
+    static final class Source {
+        private final RandomData randomData;
+
+        private final long seed;
+
+        private final GeoIndex geo;
+
+        private final GeoIndex.Region region;
+
+        Source(final RandomData randomData, final GeoIndex.Region region) {
+            this.randomData = randomData;
+            this.seed = randomData.seed();
+            this.geo = region.getIndex();
+            this.region = region;
+        }
+    }
+
+    /**
+     * Converts a view to an immutable copy for Jackson, which cannot serialize a view as
+     * {@link ImmutableAddress} because the two types are unrelated.
+     */
+    static final class ToImmutable extends StdConverter<AddressView, ImmutableAddress> {
+        @Override
+        public ImmutableAddress convert(final AddressView value) {
+            return ImmutableAddress.copyOf(value);
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    /** State, city and postal code are derived together, so that they are consistent **/
+    private static final int PLACE = 0;
+
+    private static final int STREET = 1;
+
+    private static final int STREET_NUMBER = 2;
+
+    private static final int ID = 3;
+
+    private final transient Source source;
+
+    private final long index;
+
+    private final ZonedDateTime created;
+
+    AddressView(final Source source, final long index) {
+        this.source = source;
+        this.index = index;
+        this.created = source.randomData.now();
+    }
+
+    @Override
+    public String getCity() {
+        return source.geo.getCity(place());
+    }
+
+    @Override
+    public ZonedDateTime getCreated() {
+        return created;
+    }
+
+    @Override
+    public String getId() {
+        final Random random = random(ID);
+        return IdStrategy.SEEDED.nextId(random);
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    @Override
+    public String getPostalCode() {
+        return source.geo.getPostalCode(place());
+    }
+
+    @Override
+    public String getState() {
+        return source.geo.getState(place());
+    }
+
+    @Override
+    public String getStreet() {
+        final int streetNumber = random(STREET_NUMBER).nextInt(1000) + 1;
+        return streetNumber + " " + source.geo.nextStreet(place(), random(STREET));
+    }
+
+    private int place() {
+        return source.region.next(random(PLACE));
+    }
+
+    private Random random(final int field) {
+        return SeededRandom.forField(source.seed, index, field);
+    }
+
+    @Override
+    public String toString() {
+        return ImmutableAddress.copyOf(this).toString();
+    }
+
+    private Object writeReplace() {
+        return ImmutableAddress.copyOf(this);
+    }
+}
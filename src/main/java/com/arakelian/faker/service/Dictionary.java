@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.service;
+
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import com.arakelian.faker.metrics.Metrics;
+import com.arakelian.faker.reader.TextReader;
+import com.arakelian.faker.service.RandomData.Capitalization;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Suppliers;
+
+/**
+ * A handle to a dictionary that has been resolved by name, see {@link RandomData#dictionary(String)}.
+ * Values are drawn from it without any name resolution or cache lookups. Handles are thread-safe,
+ * provided that each thread uses its own random number generator.
+ *
+ * @param <T>
+ *            type of dictionary rows
+ */
+public final class Dictionary<T> {
+    private final String name;
+
+    private final TextReader<T> reader;
+
+    private final boolean weighted;
+
+    private final Supplier<WordList> words;
+
+    /** Receives sample counts; null if metrics are disabled **/
+    private final Metrics metrics;
+
+    public Dictionary(final TextReader<T> reader, final boolean weighted) {
+        this(reader.getResource().toString(), reader, weighted, Metrics.NOOP);
+    }
+
+    public Dictionary(final String name, final TextReader<T> reader, final boolean weighted, final Metrics metrics) {
+        this.name = Preconditions.checkNotNull(name);
+        this.reader = Preconditions.checkNotNull(reader);
+        this.weighted = weighted;
+        this.words = Suppliers.memoize(() -> new WordList(reader));
+        this.metrics = metrics.isEnabled() ? metrics : null;
+    }
+
+    public StringBuilder appendParagraphs(
+            final StringBuilder buf,
+            final int min,
+            final int max,
+            final Random random) {
+        final WordList list = words.get();
+
+        final int paragraphs = nextInt(min, max, random);
+        for (int p = 0; p < paragraphs; p++) {
+            if (p != 0) {
+                buf.append('\n');
+            }
+            final int sentences = nextInt(2, 6, random);
+            for (int s = 0; s < sentences; s++) {
+                if (s != 0) {
+                    buf.append("  ");
+                }
+                buf.append(list.get(nextIndex(random), Capitalization.TITLE));
+                final int count = nextInt(2, 20, random);
+                for (int w = 0; w < count; w++) {
+                    buf.append(' ').append(list.get(nextIndex(random), Capitalization.LOWER));
+                }
+                buf.append('.');
+            }
+        }
+        return buf;
+    }
+
+    /**
+     * Fills the given array with the indexes of random rows.
+     *
+     * @param indexes
+     *            array to fill
+     * @param random
+     *            random number generator
+     * @return the given array
+     */
+    public int[] fillIndexes(final int[] indexes, final Random random) {
+        if (metrics != null) {
+            metrics.onDictionarySampled(name, indexes.length);
+        }
+        if (weighted) {
+            for (int i = 0; i < indexes.length; i++) {
+                indexes[i] = reader.nextWeightedIndex(random);
+            }
+        } else {
+            final int size = reader.getRowCount();
+            for (int i = 0; i < indexes.length; i++) {
+                indexes[i] = random.nextInt(size);
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * Fills the given array with the first column of random rows.
+     *
+     * @param values
+     *            array to fill
+     * @param random
+     *            random number generator
+     * @return the given array
+     */
+    public String[] fillStrings(final String[] values, final Random random) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = getString(nextIndex(random));
+        }
+        return values;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public TextReader<T> getReader() {
+        return reader;
+    }
+
+    private String getString(final int row) {
+        return Objects.toString(reader.getValue(row, 0, Object.class), null);
+    }
+
+    public boolean isWeighted() {
+        return weighted;
+    }
+
+    public T next(final Random random) {
+        return reader.getRow(nextIndex(random));
+    }
+
+    public Object[] nextArray(final Random random) {
+        return reader.getRowAsArray(nextIndex(random));
+    }
+
+    public int nextIndex(final Random random) {
+        if (metrics != null) {
+            metrics.onDictionarySampled(name, 1);
+        }
+        if (weighted) {
+            return reader.nextWeightedIndex(random);
+        }
+        return random.nextInt(reader.getRowCount());
+    }
+
+    private int nextInt(final int min, final int maxInclusive, final Random random) {
+        return min + random.nextInt(maxInclusive - min + 1);
+    }
+
+    public String nextString(final Random random) {
+        return getString(nextIndex(random));
+    }
+
+    public String nextWord(final Capitalization capitalization, final Random random) {
+        Preconditions.checkNotNull(capitalization, "capitalization must be non-null");
+        return words.get().get(nextIndex(random), capitalization);
+    }
+
+    public int size() {
+        return reader.getRowCount();
+    }
+}
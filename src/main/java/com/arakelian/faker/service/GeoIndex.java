@@ -0,0 +1,356 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.arakelian.faker.random.AliasTable;
+import com.arakelian.faker.reader.TextReader;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Maps;
+
+/**
+ * Index over a dictionary of places (state, city and postal code), and the streets within each
+ * postal code, so that consistent addresses can be drawn in constant time from the whole dataset,
+ * a single state or a single city.
+ *
+ * <p>
+ * Places are sorted by state and city, so that every region is a contiguous range of places that
+ * has its own sampling table. Each postal code is assigned a fixed run of the street dictionary
+ * named in its {@link #STREETS} column, so that a street is always paired with the same postal
+ * codes.
+ * </p>
+ *
+ * <p>
+ * Note that the pairing of streets with postal codes is synthetic: the run is chosen by hashing the
+ * postal code, and the bundled {@link #DEFAULT_STREETS} dictionary is a generic list of common
+ * street names rather than the streets of any city. With the bundled {@link #PLACES}, only the
+ * city, state and postal code of an address come from census data; the street is plausible but
+ * need not exist in that postal code.
+ * </p>
+ */
+public final class GeoIndex {
+    /**
+     * A contiguous range of places, e.g. all places within a state. Regions are thread-safe,
+     * provided that each thread uses its own random number generator.
+     */
+    public final class Region {
+        private final String name;
+
+        private final int from;
+
+        private final int to;
+
+        /** Samples places in proportion to their population; null if unweighted **/
+        private final AliasTable sampler;
+
+        private Region(final String name, final int from, final int to) {
+            this.name = name;
+            this.from = from;
+            this.to = to;
+
+            if (frequency != null) {
+                final double[] weights = new double[to - from];
+                for (int i = 0; i < weights.length; i++) {
+                    weights[i] = frequency[order[from + i]];
+                }
+                sampler = new AliasTable(weights);
+            } else {
+                sampler = null;
+            }
+        }
+
+        public GeoIndex getIndex() {
+            return GeoIndex.this;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns a random place within this region.
+         *
+         * @param random
+         *            random number generator
+         * @return index of a place
+         */
+        public int next(final Random random) {
+            final int offset = sampler != null ? sampler.next(random) : random.nextInt(to - from);
+            return order[from + offset];
+        }
+
+        public int size() {
+            return to - from;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /** Name of column with postal code **/
+    public static final String POSTAL_CODE = "postalCode";
+
+    /** Name of column with state **/
+    public static final String STATE = "state";
+
+    /** Name of column with city **/
+    public static final String CITY = "city";
+
+    /** Name of optional column with name of street dictionary used by a postal code **/
+    public static final String STREETS = "streets";
+
+    /** Name of bundled dictionary of places **/
+    public static final String PLACES = "address.us.place";
+
+    /** Street dictionary used when a place does not name one **/
+    public static final String DEFAULT_STREETS = "address.us.street";
+
+    /** Maximum number of distinct streets within a postal code **/
+    public static final int STREETS_PER_POSTAL_CODE = 32;
+
+    private static int indexOf(final TextReader<?> places, final String name) {
+        final int index = places.indexOf(name);
+        Preconditions.checkArgument(index != -1, "places must have a \"%s\" column", name);
+        return index;
+    }
+
+    private static String key(final String state, final String city) {
+        return city != null ? state + "/" + city : state;
+    }
+
+    private static int[] sort(final int size, final Comparator<Integer> comparator) {
+        final Integer[] boxed = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            boxed[i] = i;
+        }
+        Arrays.sort(boxed, comparator);
+        final int[] sorted = new int[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = boxed[i];
+        }
+        return sorted;
+    }
+
+    private final String[] postalCode;
+
+    private final String[] state;
+
+    private final String[] city;
+
+    /** Population of each place; null if unweighted **/
+    private final double[] frequency;
+
+    /** Indexes of places, sorted by state and city **/
+    private final int[] order;
+
+    /** Street dictionary of each place, and the run of streets within it **/
+    private final Dictionary<?>[] streets;
+
+    private final int[] streetOffset;
+
+    private final int[] streetCount;
+
+    private final Region all;
+
+    /** Regions keyed by state, and by state and city **/
+    private final Map<String, Region> regions = Maps.newHashMap();
+
+    /** Cities of each state **/
+    private final Map<String, Set<String>> cities;
+
+    /**
+     * Builds an index over the given dictionary of places.
+     *
+     * @param randomData
+     *            source of street dictionaries
+     * @param places
+     *            dictionary with {@link #POSTAL_CODE}, {@link #STATE} and {@link #CITY} columns,
+     *            and optional {@link #STREETS} and {@link TextReader#FREQUENCY} columns
+     * @param weighted
+     *            true if places should be selected in proportion to their frequency
+     */
+    public GeoIndex(final RandomData randomData, final TextReader<?> places, final boolean weighted) {
+        final int size = places.getRowCount();
+        Preconditions.checkArgument(size != 0, "places must be non-empty");
+
+        final int postalCodeColumn = indexOf(places, POSTAL_CODE);
+        final int stateColumn = indexOf(places, STATE);
+        final int cityColumn = indexOf(places, CITY);
+        final int streetsColumn = places.indexOf(STREETS);
+        final int frequencyColumn = weighted ? places.indexOf(TextReader.FREQUENCY) : -1;
+
+        postalCode = new String[size];
+        state = new String[size];
+        city = new String[size];
+        frequency = frequencyColumn != -1 ? new double[size] : null;
+        streets = new Dictionary<?>[size];
+        streetOffset = new int[size];
+        streetCount = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            postalCode[i] = places.getString(i, postalCodeColumn);
+            state[i] = places.getString(i, stateColumn);
+            city[i] = places.getString(i, cityColumn);
+            if (frequency != null) {
+                final Double value = places.getDouble(i, frequencyColumn);
+                frequency[i] = value != null ? value.doubleValue() : 0;
+            }
+
+            final String name = streetsColumn != -1 ? places.getString(i, streetsColumn) : null;
+            streets[i] = randomData.dictionary(name != null ? name : DEFAULT_STREETS);
+            final int count = streets[i].size();
+            streetCount[i] = Math.min(STREETS_PER_POSTAL_CODE, count);
+            streetOffset[i] = Math.floorMod(postalCode[i].hashCode() * 0x9E3779B9, count);
+        }
+
+        final Comparator<Integer> comparator = Comparator.<Integer, String> comparing(i -> state[i])
+                .thenComparing(i -> city[i]).thenComparing(i -> postalCode[i]);
+        order = sort(size, comparator);
+
+        all = new Region("", 0, size);
+        final Map<String, Set<String>> citiesByState = new TreeMap<>();
+        for (int from = 0; from < size;) {
+            final String s = state[order[from]];
+            int to = from;
+            while (to < size && s.equals(state[order[to]])) {
+                to++;
+            }
+            regions.put(key(s, null), new Region(s, from, to));
+
+            final ImmutableSortedSet.Builder<String> names = ImmutableSortedSet.naturalOrder();
+            for (int c = from; c < to;) {
+                final String name = city[order[c]];
+                int end = c;
+                while (end < to && name.equals(city[order[end]])) {
+                    end++;
+                }
+                regions.put(key(s, name), new Region(key(s, name), c, end));
+                names.add(name);
+                c = end;
+            }
+            citiesByState.put(s, names.build());
+            from = to;
+        }
+        cities = Collections.unmodifiableMap(citiesByState);
+    }
+
+    public String getCity(final int place) {
+        return city[place];
+    }
+
+    /**
+     * Returns the cities within the given state, in alphabetical order.
+     *
+     * @param state
+     *            state
+     * @return cities within the given state, or an empty set if the state is unknown
+     */
+    public Set<String> getCities(final String state) {
+        return cities.getOrDefault(state, Collections.emptySet());
+    }
+
+    public String getPostalCode(final int place) {
+        return postalCode[place];
+    }
+
+    public String getState(final int place) {
+        return state[place];
+    }
+
+    /**
+     * Returns the states that have at least one place, in alphabetical order.
+     *
+     * @return states that have at least one place
+     */
+    public Set<String> getStates() {
+        return cities.keySet();
+    }
+
+    public boolean isWeighted() {
+        return frequency != null;
+    }
+
+    /**
+     * Returns a random street within the postal code of the given place.
+     *
+     * @param place
+     *            index of a place
+     * @param random
+     *            random number generator
+     * @return name of street
+     */
+    public String nextStreet(final int place, final Random random) {
+        final Dictionary<?> dictionary = streets[place];
+        final int row = (streetOffset[place] + random.nextInt(streetCount[place])) % dictionary.size();
+        return dictionary.getReader().getString(row, 0);
+    }
+
+    /**
+     * Returns the region containing every place.
+     *
+     * @return the region containing every place
+     */
+    public Region region() {
+        return all;
+    }
+
+    /**
+     * Returns the region containing the places within the given state.
+     *
+     * @param state
+     *            state
+     * @return the region containing the places within the given state
+     * @throws IllegalArgumentException
+     *             if there are no places within the given state
+     */
+    public Region region(final String state) {
+        return region(state, null);
+    }
+
+    /**
+     * Returns the region containing the places within the given city, or within the given state if
+     * city is null.
+     *
+     * @param state
+     *            state
+     * @param city
+     *            city, or null
+     * @return the region containing the places within the given city
+     * @throws IllegalArgumentException
+     *             if there are no places within the given city
+     */
+    public Region region(final String state, final String city) {
+        final Region region = regions.get(key(state, city));
+        Preconditions.checkArgument(region != null, "No places in region \"%s\"", key(state, city));
+        return region;
+    }
+
+    public int size() {
+        return postalCode.length;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.service;
+
+import java.util.Random;
+
+/**
+ * Base class for services written before {@link AbstractRandomService#next(Random)} was added,
+ * which only implement {@link #next()}. Every value is drawn by {@link #next()}, ignoring any
+ * generator passed to {@link #next(Random)}, so values are not reproducible even when data is
+ * seeded. New services should extend {@link AbstractRandomService} directly.
+ *
+ * @param <T>
+ *            type of values
+ */
+public abstract class LegacyRandomService<T> extends AbstractRandomService<T> {
+    protected LegacyRandomService() {
+        this(RandomData.get());
+    }
+
+    protected LegacyRandomService(final RandomData randomData) {
+        super(randomData);
+    }
+
+    /**
+     * Returns a random value.
+     *
+     * @return a random value
+     */
+    @Override
+    public abstract T next();
+
+    /**
+     * Returns a random value from {@link #next()}, ignoring the given generator.
+     */
+    @Override
+    public T next(final Random random) {
+        return next();
+    }
+}
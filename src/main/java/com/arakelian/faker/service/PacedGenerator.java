@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+import com.arakelian.faker.model.PacingConfig;
+import com.arakelian.faker.writer.RecordWriter;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * Generates records at a steady rate, rather than as fast as possible. Each record is assigned a
+ * time slot, and {@link #next()} blocks until the slot for the next record arrives. Slots are
+ * computed from the start time, so pacing does not drift over long runs.
+ *
+ * <p>
+ * Two sets of counters help to identify bottlenecks. If records are handed out late (see
+ * {@link #getMeanLag()}), but generation is fast (see {@link #getMeanGenerationTime()}), then the
+ * caller is not keeping up; if generation takes longer than the interval between records, then
+ * the generator is.
+ * </p>
+ *
+ * <p>
+ * This class is thread-safe; concurrent callers share the same rate.
+ * </p>
+ *
+ * @param <T>
+ *            type of records
+ */
+public final class PacedGenerator<T> {
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AbstractRandomService<T> service;
+
+    private final PacingConfig config;
+
+    /** Source of timestamps, in nanoseconds **/
+    private final Ticker ticker;
+
+    /** Waits for the given number of nanoseconds **/
+    private final LongConsumer sleeper;
+
+    private final long rampUpNanos;
+
+    /** Number of records released while the rate is ramping up **/
+    private final double rampUpRecords;
+
+    /** Time of first request; guarded by this **/
+    private long start;
+
+    /** Accumulated adjustment to schedule, due to late callers; guarded by this **/
+    private long shift;
+
+    /** Number of slots handed out; guarded by this **/
+    private long issued;
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder lateCount = new LongAdder();
+
+    private final LongAdder lagNanos = new LongAdder();
+
+    private final AtomicLong maxLagNanos = new AtomicLong();
+
+    private final LongAdder generationNanos = new LongAdder();
+
+    public PacedGenerator(final AbstractRandomService<T> service, final PacingConfig config) {
+        this(
+                service,
+                config,
+                Ticker.systemTicker(),
+                nanos -> Uninterruptibles.sleepUninterruptibly(nanos, TimeUnit.NANOSECONDS));
+    }
+
+    PacedGenerator(
+            final AbstractRandomService<T> service,
+            final PacingConfig config,
+            final Ticker ticker,
+            final LongConsumer sleeper) {
+        this.service = Preconditions.checkNotNull(service);
+        this.config = Preconditions.checkNotNull(config);
+        this.ticker = Preconditions.checkNotNull(ticker);
+        this.sleeper = Preconditions.checkNotNull(sleeper);
+        this.rampUpNanos = config.getRampUp().toNanos();
+        this.rampUpRecords = config.getRate() * rampUpNanos / NANOS_PER_SECOND / 2;
+    }
+
+    /**
+     * Returns the rate achieved since the first record was requested.
+     *
+     * @return records per second
+     */
+    public double getAchievedRate() {
+        final long elapsed;
+        synchronized (this) {
+            if (issued == 0) {
+                return 0;
+            }
+            elapsed = ticker.read() - start;
+        }
+        return elapsed > 0 ? count.sum() * NANOS_PER_SECOND / elapsed : 0;
+    }
+
+    public PacingConfig getConfig() {
+        return config;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the number of records that were requested after their scheduled time.
+     *
+     * @return number of records that were requested late
+     */
+    public long getLateCount() {
+        return lateCount.sum();
+    }
+
+    public Duration getMaxLag() {
+        return Duration.ofNanos(maxLagNanos.get());
+    }
+
+    /**
+     * Returns the average time taken to generate a record.
+     *
+     * @return average time taken to generate a record
+     */
+    public Duration getMeanGenerationTime() {
+        final long n = count.sum();
+        return Duration.ofNanos(n != 0 ? generationNanos.sum() / n : 0);
+    }
+
+    /**
+     * Returns the average amount of time by which records were requested after their scheduled
+     * time, across all records.
+     *
+     * @return average scheduling lag
+     */
+    public Duration getMeanLag() {
+        final long n = count.sum();
+        return Duration.ofNanos(n != 0 ? lagNanos.sum() / n : 0);
+    }
+
+    /**
+     * Waits for the next time slot, and then returns a random record.
+     *
+     * @return a random record
+     */
+    public T next() {
+        final long scheduled = reserve();
+        final long now = ticker.read();
+        if (scheduled > now) {
+            sleeper.accept(scheduled - now);
+        }
+
+        final long begin = ticker.read();
+        final T value = service.next();
+        generationNanos.add(ticker.read() - begin);
+        count.increment();
+        return value;
+    }
+
+    /**
+     * Returns the time at which the given record is scheduled, relative to the first record.
+     *
+     * @param index
+     *            record index
+     * @return time in nanoseconds
+     */
+    long offsetOf(final long index) {
+        final double rate = config.getRate();
+        if (index < rampUpRecords) {
+            // during ramp-up, records(t) = rate * t^2 / (2 * rampUp)
+            final double rampUpSeconds = rampUpNanos / NANOS_PER_SECOND;
+            return (long) (Math.sqrt(2 * rampUpSeconds * index / rate) * NANOS_PER_SECOND);
+        }
+        return rampUpNanos + (long) ((index - rampUpRecords) * NANOS_PER_SECOND / rate);
+    }
+
+    /**
+     * Reserves the next time slot, recording how late the caller was.
+     *
+     * @return time slot, in {@link Ticker#read()} units
+     */
+    private synchronized long reserve() {
+        final long now = ticker.read();
+        if (issued == 0) {
+            start = now;
+        }
+
+        final long index = issued++;
+        long scheduled = start + shift + offsetOf(index);
+        if (scheduled < now) {
+            final long lag = now - scheduled;
+            lateCount.increment();
+            lagNanos.add(lag);
+            maxLagNanos.accumulateAndGet(lag, Math::max);
+
+            // a late caller may catch up by at most the burst size, after which the schedule
+            // slips rather than release an unbounded number of records at once
+            final long window = offsetOf(index + config.getBurst() - 1) - offsetOf(index);
+            if (lag > window) {
+                shift += lag - window;
+                scheduled = now - window;
+            }
+        }
+        return scheduled;
+    }
+
+    /**
+     * Writes the given number of records to a writer, at the configured rate.
+     *
+     * @param writer
+     *            destination
+     * @param count
+     *            number of records
+     * @return number of records written
+     * @throws IOException
+     *             if records could not be written
+     */
+    public long writeTo(final RecordWriter<? super T> writer, final long count) throws IOException {
+        Preconditions.checkArgument(count >= 0, "count must be non-negative");
+        for (long i = 0; i < count; i++) {
+            writer.write(next());
+        }
+        return count;
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.service;
+
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+import com.arakelian.faker.id.IdStrategy;
+import com.arakelian.faker.model.Gender;
+import com.arakelian.faker.model.ImmutablePerson;
+import com.arakelian.faker.model.Person;
+import com.arakelian.faker.random.SeededRandom;
+import com.arakelian.faker.text.MarkovText;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.util.StdConverter;
+
+/**
+ * A person that holds only its record index, and derives each field from a hash of the dataset
+ * seed, the record index and the field whenever the field is accessed; see
+ * {@link RandomPerson#at(long)}. Serializing a view, with Java serialization or Jackson,
+ * serializes an {@link ImmutablePerson} copy.
+ *
+ * <p>
+ * Ids are always drawn with {@link IdStrategy#SEEDED}, which produces 22 character ids like the
+ * default strategy, because the configured strategy may depend on the clock or on the order in
+ * which records are generated, whereas a view must return the same id every time.
+ * </p>
+ */
+@JsonSerialize(converter = PersonView.ToImmutable.class)
+final class PersonView extends Person {
+    /**
+     * Dictionaries shared by every view of a service, resolved once.
+     */
+    static final class Source {
+        private final RandomData randomData;
+
+        private final long seed;
+
+        private final Gender[] genders = Gender.values();
+
+        private final Dictionary<Object[]> female;
+
+        private final Dictionary<Object[]> male;
+
+        private final Dictionary<Object[]> surname;
+
+        private final Dictionary<Object[]> title;
+
+        private final MarkovText comments;
+
+        Source(final RandomData randomData) {
+            this.randomData = randomData;
+            this.seed = randomData.seed();
+            this.female = randomData.dictionary("name.female");
+            this.male = randomData.dictionary("name.male");
+            this.surname = randomData.dictionary("name.surname");
+            this.title = randomData.dictionary("job.title");
+            this.comments = randomData.text(randomData.getConfig().getCommentsCorpus());
+        }
+    }
+
+    /**
+     * Converts a view to an immutable copy for Jackson, which cannot serialize a view as
+     * {@link ImmutablePerson} because the two types are unrelated.
+     */
+    static final class ToImmutable extends StdConverter<PersonView, ImmutablePerson> {
+        @Override
+        public ImmutablePerson convert(final PersonView value) {
+            return ImmutablePerson.copyOf(value);
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int GENDER = 0;
+
+    private static final int FIRST_NAME = 1;
+
+    private static final int LAST_NAME = 2;
+
+    private static final int TITLE = 3;
+
+    private static final int BIRTHDATE = 4;
+
+    private static final int COMMENTS = 5;
+
+    private static final int ID = 6;
+
+    private final transient Source source;
+
+    private final long index;
+
+    private final ZonedDateTime created;
+
+    PersonView(final Source source, final long index) {
+        this.source = source;
+        this.index = index;
+        this.created = source.randomData.now();
+    }
+
+    @Override
+    public Integer getAge() {
+        return RandomPerson.age(getBirthdate(), created);
+    }
+
+    @Override
+    public ZonedDateTime getBirthdate() {
+        return source.randomData.nextDate("birthday", random(BIRTHDATE));
+    }
+
+    @Override
+    public String getComments() {
+        return source.comments.appendParagraphs(new StringBuilder(), 1, 1, random(COMMENTS)).toString();
+    }
+
+    @Override
+    public ZonedDateTime getCreated() {
+        return created;
+    }
+
+    @Override
+    public String getFirstName() {
+        final Gender gender = getGender();
+        switch (gender) {
+        case FEMALE:
+            return source.female.nextString(random(FIRST_NAME));
+        case MALE:
+            return source.male.nextString(random(FIRST_NAME));
+        default:
+            throw new IllegalStateException("Unknown gender: " + gender);
+        }
+    }
+
+    @Override
+    public Gender getGender() {
+        return source.genders[random(GENDER).nextInt(source.genders.length)];
+    }
+
+    @Override
+    public String getId() {
+        final Random random = random(ID);
+        return IdStrategy.SEEDED.nextId(random);
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    @Override
+    public String getLastName() {
+        return source.surname.nextString(random(LAST_NAME));
+    }
+
+    @Override
+    public String getTitle() {
+        return source.title.nextString(random(TITLE));
+    }
+
+    private Random random(final int field) {
+        return SeededRandom.forField(source.seed, index, field);
+    }
+
+    @Override
+    public String toString() {
+        return ImmutablePerson.copyOf(this).toString();
+    }
+
+    private Object writeReplace() {
+        return ImmutablePerson.copyOf(this);
+    }
+}
@@ -17,36 +17,140 @@
 
 package com.arakelian.faker.service;
 
+import java.time.ZonedDateTime;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import com.arakelian.faker.id.IdStrategy;
 import com.arakelian.faker.model.Address;
 import com.arakelian.faker.model.ImmutableAddress;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Suppliers;
 
 public class RandomAddress extends AbstractRandomService<Address> {
+    /** Key of street, for use with {@link #unique(ToLongFunction)} **/
+    public static final ToLongFunction<Address> STREET = address -> UniqueRandomService.hash(address.getStreet());
+
     private static RandomAddress INSTANCE = new RandomAddress();
 
     public static RandomAddress get() {
         return INSTANCE;
     }
 
-    private final RandomData randomData;
+    /** State to which addresses are restricted; null for all states **/
+    private final String state;
+
+    /** City to which addresses are restricted; null for all cities **/
+    private final String city;
+
+    /** Region to which addresses are restricted, resolved on first use **/
+    private final Supplier<GeoIndex.Region> region;
+
+    /** Region used by views, resolved on first use **/
+    private final Supplier<AddressView.Source> views;
 
     public RandomAddress() {
         this(RandomData.get());
     }
 
     public RandomAddress(final RandomData randomData) {
-        this.randomData = Preconditions.checkNotNull(randomData);
+        this(randomData, null, null);
     }
 
-    @Override
-    public Address next() {
-        final String streetNumber = Integer.toString(randomData.random().nextInt(1000) + 1);
-        final Address address = ImmutableAddress.builder() //
-                .street(streetNumber + " " + randomData.nextString("address.ca.sf.street")) //
-                .city("SAN FRANCISCO") //
-                .state("CA") //
-                .postalCode(randomData.nextString("address.ca.sf.zip")) //
+    private RandomAddress(final RandomData randomData, final String state, final String city) {
+        super(randomData);
+        this.state = state;
+        this.city = city;
+        this.region = Suppliers.memoize(this::resolveRegion);
+        this.views = Suppliers.memoize(() -> new AddressView.Source(randomData, region.get()));
+    }
+
+    /**
+     * Returns a lightweight view of the address at the given index. The view holds only the index,
+     * and derives each field from the seed of the underlying {@link RandomData}, the index and the
+     * field when the field is accessed, so that any record of a dataset can be regenerated without
+     * generating the others. Views are not the same as the values returned by {@link #next(long)}.
+     *
+     * @param index
+     *            record index
+     * @return a view of the address at the given index
+     */
+    public Address at(final long index) {
+        return new AddressView(views.get(), index);
+    }
+
+    /**
+     * Returns a generator of addresses within the given state.
+     *
+     * @param state
+     *            state, e.g. "CA"
+     * @return a generator of addresses within the given state
+     * @throws IllegalArgumentException
+     *             if there are no places within the given state
+     */
+    public RandomAddress in(final String state) {
+        return in(state, null);
+    }
+
+    /**
+     * Returns a generator of addresses within the given city.
+     *
+     * @param state
+     *            state, e.g. "CA"
+     * @param city
+     *            city, e.g. "SAN FRANCISCO"
+     * @return a generator of addresses within the given city
+     * @throws IllegalArgumentException
+     *             if there are no places within the given city
+     */
+    public RandomAddress in(final String state, final String city) {
+        Preconditions.checkNotNull(state, "state must be non-null");
+        randomData.getGeoIndex().region(state, city);
+        return new RandomAddress(randomData, state, city);
+    }
+
+    private Address newAddress(
+            final GeoIndex.Region region,
+            final IdStrategy ids,
+            final ZonedDateTime created,
+            final ImmutableAddress.Builder builder,
+            final Random random) {
+        final GeoIndex geo = region.getIndex();
+        final int place = region.next(random);
+        final String streetNumber = Integer.toString(random.nextInt(1000) + 1);
+        return builder //
+                .street(streetNumber + " " + geo.nextStreet(place, random)) //
+                .city(geo.getCity(place)) //
+                .state(geo.getState(place)) //
+                .postalCode(geo.getPostalCode(place)) //
+                .id(ids.nextId(random)) //
+                .created(created) //
+                .updated(created) //
                 .build();
-        return address;
+    }
+
+    @Override
+    protected Generator<Address> newGenerator() {
+        final GeoIndex.Region region = this.region.get();
+        final IdStrategy ids = randomData.getConfig().getIdStrategy();
+        final ZonedDateTime created = randomData.now();
+        final ImmutableAddress.Builder builder = ImmutableAddress.builder();
+        return random -> newAddress(region, ids, created, builder, random);
+    }
+
+    @Override
+    public Address next(final Random random) {
+        return newAddress(
+                region.get(),
+                randomData.getConfig().getIdStrategy(),
+                randomData.now(),
+                ImmutableAddress.builder(),
+                random);
+    }
+
+    private GeoIndex.Region resolveRegion() {
+        final GeoIndex geo = randomData.getGeoIndex();
+        return state != null ? geo.region(state, city) : geo.region();
     }
 }
@@ -18,27 +18,57 @@
 package com.arakelian.faker.service;
 
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.time.ZonedDateTime;
-import java.util.Objects;
+import java.util.Collection;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 import org.apache.commons.lang3.StringUtils;
 
 import com.arakelian.core.utils.DateUtils;
+import com.arakelian.faker.distribution.DateDistribution;
+import com.arakelian.faker.distribution.Distribution;
+import com.arakelian.faker.metrics.Metrics;
 import com.arakelian.faker.model.ImmutableRandomDataConfig;
 import com.arakelian.faker.model.RandomDataConfig;
+import com.arakelian.faker.random.SeededRandom;
 import com.arakelian.faker.reader.TextReader;
+import com.arakelian.faker.text.MarkovText;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Suppliers;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
 
 public class RandomData {
     public enum Capitalization {
         LOWER, UPPER, TITLE;
     }
 
+    /**
+     * Dictionaries that are bundled with this library
+     */
+    public static final List<String> DICTIONARIES = ImmutableList.of(
+            "name.female",
+            "name.male",
+            "name.surname",
+            "job.title",
+            "words.lorem",
+            "address.ca.sf.street",
+            "address.ca.sf.zip",
+            "address.us.place",
+            "address.us.street");
+
     private static RandomData INSTANCE = new RandomData(ImmutableRandomDataConfig.builder().build());
 
     public static RandomData get() {
@@ -50,6 +80,26 @@ public class RandomData {
      */
     private LoadingCache<String, TextReader<?>> cache;
 
+    /**
+     * Resolved dictionaries, keyed by resource name
+     */
+    private LoadingCache<String, Dictionary<?>> dictionaries;
+
+    /**
+     * Text models, keyed by resource name
+     */
+    private LoadingCache<String, MarkovText> texts;
+
+    /**
+     * Index of bundled places, built on first use
+     */
+    private volatile GeoIndex geoIndex;
+
+    /**
+     * Distribution of dates that are not configured by name, built on first use
+     */
+    private final Supplier<DateDistribution> birthdates;
+
     private final RandomDataConfig config;
 
     public RandomData(final RandomDataConfig config) {
@@ -59,34 +109,211 @@ public class RandomData {
             @Override
             public TextReader<?> load(final String key) throws IOException {
                 final TextReader<?> reader = new TextReader<>(key, Object[].class);
+                final long start = System.nanoTime();
                 reader.read();
+                final Metrics metrics = config.getMetrics();
+                if (metrics.isEnabled()) {
+                    metrics.onDictionaryLoaded(
+                            key,
+                            System.nanoTime() - start,
+                            reader.getRowCount(),
+                            reader.getRetainedSize());
+                }
                 return reader;
             }
         };
 
         cache = CacheBuilder.newBuilder().build(loader);
+
+        dictionaries = CacheBuilder.newBuilder().build(new CacheLoader<String, Dictionary<?>>() {
+            @Override
+            public Dictionary<?> load(final String key) {
+                return new Dictionary<>(key, cache.getUnchecked(key), config.isWeighted(), config.getMetrics());
+            }
+        });
+
+        texts = CacheBuilder.newBuilder().build(new CacheLoader<String, MarkovText>() {
+            @Override
+            public MarkovText load(final String key) throws IOException {
+                final URL resource = RandomData.class.getResource(key);
+                Preconditions.checkArgument(resource != null, "Resource \"" + key + "\" not found");
+                final long start = System.nanoTime();
+                final MarkovText text;
+                try (Reader reader = new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8)) {
+                    text = MarkovText.train(reader, MarkovText.DEFAULT_ORDER);
+                }
+                final Metrics metrics = config.getMetrics();
+                if (metrics.isEnabled()) {
+                    metrics.onDictionaryLoaded(
+                            key,
+                            System.nanoTime() - start,
+                            text.getStateCount(),
+                            text.getRetainedSize());
+                }
+                return text;
+            }
+        });
+
+        birthdates = Suppliers.memoize(() -> {
+            final ZonedDateTime from = config.getFromBirthday();
+            final ZonedDateTime to = config.getToBirthday();
+            return config.isWeighted() //
+                    ? DateDistribution.agePyramid(now(), from, to)
+                    : DateDistribution.uniform(from, to);
+        });
     }
 
-    public TextReader<Object[]> get(final String name) {
-        return get(name, Object[].class);
+    /**
+     * Appends one or more paragraphs of random words to the given buffer, without creating any
+     * intermediate strings.
+     *
+     * @param buf
+     *            destination buffer
+     * @param name
+     *            name of dictionary
+     * @param min
+     *            minimum number of paragraphs
+     * @param max
+     *            maximum number of paragraphs
+     * @param random
+     *            random number generator
+     * @return the given buffer
+     */
+    public StringBuilder appendParagraphs(
+            final StringBuilder buf,
+            final String name,
+            final int min,
+            final int max,
+            final Random random) {
+        return dictionary(name).appendParagraphs(buf, min, max, random);
+    }
+
+    public StringBuilder appendWord(
+            final StringBuilder buf,
+            final String name,
+            final Capitalization capitalization,
+            final Random random) {
+        return buf.append(nextWord(name, capitalization, random));
+    }
+
+    /**
+     * Returns the named distribution of dates from {@link RandomDataConfig#getDateDistributions()}
+     * or, if there is none, the distribution of birthdates. Birthdates follow the age pyramid of
+     * the population if {@link RandomDataConfig#isWeighted()} is enabled, and are uniform
+     * otherwise.
+     *
+     * @param name
+     *            name of distribution
+     * @return the named distribution of dates
+     */
+    public DateDistribution dateDistribution(final String name) {
+        final DateDistribution distribution = config.getDateDistributions().get(name);
+        return distribution != null ? distribution : birthdates.get();
     }
 
+    /**
+     * Returns a handle to the named dictionary, loading it if necessary. Callers that draw many
+     * values should hold on to the handle, rather than pass the name to methods such as
+     * {@link #nextString(String, Random)} that resolve it on every call.
+     *
+     * @param name
+     *            name of dictionary
+     * @return a handle to the named dictionary
+     */
+    public Dictionary<Object[]> dictionary(final String name) {
+        return dictionary(name, Object[].class);
+    }
+
+    /**
+     * Returns a handle to the named dictionary, whose rows are of the given type.
+     *
+     * @param name
+     *            name of dictionary
+     * @param clazz
+     *            type of dictionary rows
+     * @return a handle to the named dictionary
+     */
     @SuppressWarnings("unchecked")
-    private <T> TextReader<T> get(final String name, final Class<T> clazz) {
-        String resourceName = StringUtils.replace(name, ".", "/");
-        if (!StringUtils.startsWith(resourceName, "/")) {
-            resourceName = "/com/arakelian/faker/" + resourceName;
+    public <T> Dictionary<T> dictionary(final String name, final Class<T> clazz) {
+        final Dictionary<?> dictionary = dictionaries.getUnchecked(toResourceName(name));
+        final Class<?> dataClass = dictionary.getReader().getDataClass();
+        Preconditions.checkState(clazz.isAssignableFrom(dataClass));
+        return (Dictionary<T>) dictionary;
+    }
+
+    /**
+     * Returns the named distribution from {@link RandomDataConfig#getDistributions()}.
+     *
+     * @param name
+     *            name of distribution
+     * @return the named distribution
+     * @throws IllegalArgumentException
+     *             if no distribution has been configured with the given name
+     */
+    public Distribution distribution(final String name) {
+        final Distribution distribution = config.getDistributions().get(name);
+        Preconditions.checkArgument(distribution != null, "No distribution named %s", name);
+        return distribution;
+    }
+
+    public TextReader<Object[]> get(final String name) {
+        return dictionary(name).getReader();
+    }
+
+    public RandomDataConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Returns an index over the bundled places, used to draw consistent combinations of state, city,
+     * postal code and street.
+     *
+     * @return index over the bundled places
+     */
+    public GeoIndex getGeoIndex() {
+        GeoIndex index = geoIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = geoIndex;
+                if (index == null) {
+                    index = new GeoIndex(this, get(GeoIndex.PLACES), config.isWeighted());
+                    geoIndex = index;
+                }
+            }
         }
+        return index;
+    }
 
-        final TextReader<?> reader = cache.getUnchecked(resourceName);
-        final Class<?> dataClass = reader.getDataClass();
-        Preconditions.checkState(clazz.isAssignableFrom(dataClass));
-        return (TextReader<T>) reader;
+    /**
+     * Returns true if the index of bundled places has been built; see {@link #getGeoIndex()}.
+     *
+     * @return true if the index of bundled places has been built
+     */
+    public boolean isGeoIndexBuilt() {
+        return geoIndex != null;
+    }
+
+    public boolean isLoaded(final String name) {
+        return cache.getIfPresent(toResourceName(name)) != null;
+    }
+
+    public boolean isSeeded() {
+        return config.getSeed() != null;
+    }
+
+    /**
+     * Returns true if the model of the named corpus has been trained; see {@link #text(String)}.
+     *
+     * @param name
+     *            name of corpus
+     * @return true if the model of the named corpus has been trained
+     */
+    public boolean isTextLoaded(final String name) {
+        return texts.getIfPresent(toResourceName(name) + ".txt") != null;
     }
 
     public <T extends Enum> T next(final Class<T> enumClass) {
-        final ThreadLocalRandom random = ThreadLocalRandom.current();
-        return next(enumClass, random);
+        return next(enumClass, random());
     }
 
     public <T extends Enum> T next(final Class<T> enumClass, final Random random) {
@@ -97,84 +324,202 @@ public class RandomData {
     }
 
     public Object[] next(final String name) {
-        final ThreadLocalRandom random = ThreadLocalRandom.current();
-        return next(name, random);
+        return next(name, random());
     }
 
     public <T> T next(final String name, final Class<T> clazz) {
-        final ThreadLocalRandom random = ThreadLocalRandom.current();
-        return next(name, random, clazz);
+        return next(name, random(), clazz);
     }
 
     public Object[] next(final String name, final Random random) {
-        final TextReader<?> reader = get(name);
-        final int size = reader.getRowCount();
-        final int index = random.nextInt(size);
-        return reader.getRowAsArray(index);
+        return dictionary(name).nextArray(random);
     }
 
     public <T> T next(final String name, final Random random, final Class<T> clazz) {
-        final TextReader<T> reader = get(name, clazz);
-        final int size = reader.getRowCount();
-        final int index = random.nextInt(size);
-        return reader.getRow(index);
+        return dictionary(name, clazz).next(random);
     }
 
-    public ZonedDateTime nextDate(@SuppressWarnings("unused") final String name) {
-        final ZonedDateTime from = config.getFromBirthday();
-        final ZonedDateTime to = config.getToBirthday();
-        final ZonedDateTime data = DateUtils.randomZonedDateTimeUtc(from, to);
-        return data;
+    public ZonedDateTime nextDate(final String name) {
+        return nextDate(name, random());
+    }
+
+    public ZonedDateTime nextDate(final String name, final Random random) {
+        return dateDistribution(name).next(random);
+    }
+
+    public double nextDouble(final String name) {
+        return nextDouble(name, random());
+    }
+
+    public double nextDouble(final String name, final Random random) {
+        return distribution(name).next(random);
+    }
+
+    public int nextEpochDay(final String name, final Random random) {
+        return dateDistribution(name).nextEpochDay(random);
+    }
+
+    public long nextEpochMilli(final String name, final Random random) {
+        return dateDistribution(name).nextEpochMilli(random);
     }
 
     public int nextInt(final int min, final int maxInclusive) {
-        return min + random().nextInt(maxInclusive - min + 1);
+        return nextInt(min, maxInclusive, random());
+    }
+
+    public int nextInt(final int min, final int maxInclusive, final Random random) {
+        return min + random.nextInt(maxInclusive - min + 1);
     }
 
     public String nextParagraphs(final String name, final int min, final int max) {
-        final StringBuilder buf = new StringBuilder();
+        return nextParagraphs(name, min, max, random());
+    }
 
-        final int paragraphs = nextInt(min, max);
-        for (int p = 0; p < paragraphs; p++) {
-            if (p != 0) {
-                buf.append('\n');
-            }
-            final int sentences = nextInt(2, 6);
-            for (int s = 0; s < sentences; s++) {
-                if (s != 0) {
-                    buf.append("  ");
-                }
-                buf.append(nextWord(name, Capitalization.TITLE));
-                final int words = nextInt(2, 20);
-                for (int w = 0; w < words; w++) {
-                    buf.append(' ').append(nextWord(name, Capitalization.LOWER));
-                }
-                buf.append(".");
-            }
-        }
-        return buf.toString();
+    public String nextParagraphs(final String name, final int min, final int max, final Random random) {
+        return appendParagraphs(new StringBuilder(), name, min, max, random).toString();
     }
 
     public String nextString(final String name) {
-        final Object[] data = next(name);
-        return Objects.toString(data[0], null);
+        return nextString(name, random());
+    }
+
+    public String nextString(final String name, final Random random) {
+        return dictionary(name).nextString(random);
     }
 
     public String nextWord(final String name, final Capitalization capitalization) {
-        final String word = nextString(name);
-
-        switch (Preconditions.checkNotNull(capitalization, "capitalization must be non-null")) {
-        case TITLE:
-            return word.substring(0, 1).toUpperCase() + word.substring(1).toLowerCase();
-        case UPPER:
-            return word.toUpperCase();
-        case LOWER:
-        default:
-            return word.toLowerCase();
-        }
+        return nextWord(name, capitalization, random());
+    }
+
+    public String nextWord(final String name, final Capitalization capitalization, final Random random) {
+        return dictionary(name).nextWord(capitalization, random);
+    }
+
+    /**
+     * Returns the time at which generated records are created, which is
+     * {@link RandomDataConfig#getAsOf()} if one was configured, or the current time otherwise.
+     *
+     * @return the time at which generated records are created
+     */
+    public ZonedDateTime now() {
+        final ZonedDateTime asOf = config.getAsOf();
+        return asOf != null ? asOf : DateUtils.nowWithZoneUtc();
+    }
+
+    /**
+     * Loads all bundled {@link #DICTIONARIES} concurrently, using the common fork-join pool; see
+     * {@link #preload(Executor)}.
+     *
+     * @return a future that completes once all dictionaries have been loaded
+     */
+    public CompletableFuture<Void> preload() {
+        return preload(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Loads all bundled {@link #DICTIONARIES} concurrently, using the given executor. The model of
+     * the comments corpus is trained, and the index of places is built, at the same time, since
+     * they are also resolved by the first person or address that is generated.
+     *
+     * @param executor
+     *            executor used to load dictionaries
+     * @return a future that completes once all dictionaries have been loaded
+     */
+    public CompletableFuture<Void> preload(final Executor executor) {
+        return CompletableFuture.allOf(
+                warmUp(DICTIONARIES, executor),
+                CompletableFuture.runAsync(() -> text(config.getCommentsCorpus()), executor),
+                CompletableFuture.runAsync(this::getGeoIndex, executor));
     }
 
+    /**
+     * Returns the default random number generator, which is the generator from
+     * {@link RandomDataConfig#getRandom()} if one was configured, or
+     * {@link ThreadLocalRandom#current()} otherwise.
+     *
+     * @return the default random number generator
+     */
     public Random random() {
-        return ThreadLocalRandom.current();
+        final Random random = config.getRandom();
+        return random != null ? random : ThreadLocalRandom.current();
+    }
+
+    /**
+     * Returns a random number generator that depends only on the configured seed (or zero, if no
+     * seed was configured) and the given record index.
+     *
+     * @param index
+     *            record index
+     * @return random number generator for the given record
+     */
+    public Random random(final long index) {
+        return SeededRandom.forRecord(seed(), index);
+    }
+
+    /**
+     * Makes a dictionary that has already been read available by name, e.g. a large custom dataset
+     * that was read with {@link TextReader.Storage#MAPPED} storage.
+     *
+     * @param name
+     *            dictionary name
+     * @param reader
+     *            dictionary contents
+     */
+    public void register(final String name, final TextReader<?> reader) {
+        Preconditions.checkArgument(reader.getColumnCount() != 0, "Dictionary has not been read");
+        final String resourceName = toResourceName(name);
+        cache.put(resourceName, reader);
+        dictionaries.invalidate(resourceName);
+    }
+
+    /**
+     * Returns the configured seed, or zero if no seed was configured.
+     *
+     * @return the configured seed, or zero
+     */
+    long seed() {
+        final Long seed = config.getSeed();
+        return seed != null ? seed.longValue() : 0;
+    }
+
+    /**
+     * Returns a model of the named corpus, which is trained on first use. Corpora are plain text
+     * resources with a ".txt" extension, which is omitted from the name, e.g. "text.comments".
+     *
+     * @param name
+     *            name of corpus
+     * @return a model of the named corpus
+     */
+    public MarkovText text(final String name) {
+        return texts.getUnchecked(toResourceName(name) + ".txt");
+    }
+
+    private String toResourceName(final String name) {
+        String resourceName = StringUtils.replace(name, ".", "/");
+        if (!StringUtils.startsWith(resourceName, "/")) {
+            resourceName = "/com/arakelian/faker/" + resourceName;
+        }
+        return resourceName;
+    }
+
+    /**
+     * Loads the given dictionaries concurrently, so that the cost of parsing them is not paid by
+     * the first caller that needs them.
+     *
+     * @param names
+     *            names of dictionaries
+     * @param executor
+     *            executor used to load dictionaries
+     * @return a future that completes once all dictionaries have been loaded, or completes
+     *         exceptionally if any of them could not be loaded
+     */
+    public CompletableFuture<Void> warmUp(final Collection<String> names, final Executor executor) {
+        Preconditions.checkNotNull(names, "names must be non-null");
+        Preconditions.checkNotNull(executor, "executor must be non-null");
+
+        final CompletableFuture<?>[] futures = names.stream() //
+                .map(name -> CompletableFuture.runAsync(() -> get(name), executor)) //
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(futures);
     }
 }
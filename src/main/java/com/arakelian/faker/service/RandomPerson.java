@@ -17,52 +17,173 @@
 
 package com.arakelian.faker.service;
 
+import java.time.ZonedDateTime;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import com.arakelian.faker.distribution.DateDistribution;
+import com.arakelian.faker.id.IdStrategy;
 import com.arakelian.faker.model.Gender;
 import com.arakelian.faker.model.ImmutablePerson;
 import com.arakelian.faker.model.Person;
-import com.google.common.base.Preconditions;
+import com.arakelian.faker.text.MarkovText;
+import com.google.common.base.Suppliers;
 
 public class RandomPerson extends AbstractRandomService<Person> {
+    /**
+     * Dictionaries and strategies used to generate people, resolved once per service rather than
+     * once per record or batch.
+     */
+    private static final class Dictionaries {
+        private final Gender[] genders = Gender.values();
+
+        private final Dictionary<Object[]> female;
+
+        private final Dictionary<Object[]> male;
+
+        private final Dictionary<Object[]> surname;
+
+        private final Dictionary<Object[]> title;
+
+        private final MarkovText text;
+
+        private final DateDistribution birthdates;
+
+        private final IdStrategy ids;
+
+        private Dictionaries(final RandomData randomData) {
+            this.female = randomData.dictionary("name.female");
+            this.male = randomData.dictionary("name.male");
+            this.surname = randomData.dictionary("name.surname");
+            this.title = randomData.dictionary("job.title");
+            this.text = randomData.text(randomData.getConfig().getCommentsCorpus());
+            this.birthdates = randomData.dateDistribution("birthday");
+            this.ids = randomData.getConfig().getIdStrategy();
+        }
+    }
+
+    /**
+     * Bundled corpus from which comments are generated by default; see
+     * {@link com.arakelian.faker.model.RandomDataConfig#getCommentsCorpus()}
+     */
+    public static final String COMMENTS = "text.comments";
+
+    /** Key of first name, last name and birthdate, for use with {@link #unique(ToLongFunction)} **/
+    public static final ToLongFunction<Person> NAME_AND_BIRTHDATE = person -> UniqueRandomService.combine(
+            UniqueRandomService.combine(
+                    UniqueRandomService.hash(person.getFirstName()),
+                    UniqueRandomService.hash(person.getLastName())),
+            person.getBirthdate().toLocalDate().toEpochDay());
+
     private static RandomPerson INSTANCE = new RandomPerson();
 
+    /**
+     * Returns the age, in whole years, of a person with the given birthdate at the given time.
+     * This is equivalent to, but much cheaper than, {@link java.time.temporal.ChronoUnit#YEARS}.
+     *
+     * @param birthdate
+     *            birthdate
+     * @param asOf
+     *            time at which age is computed
+     * @return age in whole years
+     */
+    static int age(final ZonedDateTime birthdate, final ZonedDateTime asOf) {
+        final ZonedDateTime now = asOf.getZone().equals(birthdate.getZone()) ? asOf
+                : asOf.withZoneSameInstant(birthdate.getZone());
+        int years = now.getYear() - birthdate.getYear();
+        final int month = now.getMonthValue() - birthdate.getMonthValue();
+        final int day = now.getDayOfMonth() - birthdate.getDayOfMonth();
+        if (month < 0 || month == 0
+                && (day < 0 || day == 0 && now.toLocalTime().isBefore(birthdate.toLocalTime()))) {
+            years--;
+        }
+        return years;
+    }
+
     public static RandomPerson get() {
         return INSTANCE;
     }
 
-    private final RandomData randomData;
+    /** Dictionaries used by generators, resolved on first use **/
+    private final Supplier<Dictionaries> dictionaries;
+
+    /** Dictionaries used by views, resolved on first use **/
+    private final Supplier<PersonView.Source> views;
 
     public RandomPerson() {
         this(RandomData.get());
     }
 
     public RandomPerson(final RandomData randomData) {
-        this.randomData = Preconditions.checkNotNull(randomData);
+        super(randomData);
+        this.dictionaries = Suppliers.memoize(() -> new Dictionaries(randomData));
+        this.views = Suppliers.memoize(() -> new PersonView.Source(randomData));
+    }
+
+    /**
+     * Returns a lightweight view of the person at the given index. The view holds only the index,
+     * and derives each field from the seed of the underlying {@link RandomData}, the index and the
+     * field when the field is accessed, so that any record of a dataset can be regenerated without
+     * generating the others. Views are not the same as the values returned by {@link #next(long)}.
+     *
+     * @param index
+     *            record index
+     * @return a view of the person at the given index
+     */
+    public Person at(final long index) {
+        return new PersonView(views.get(), index);
     }
 
     @Override
-    public Person next() {
-        final Gender gender = randomData.next(Gender.class);
+    protected Generator<Person> newGenerator() {
+        final Dictionaries dictionaries = this.dictionaries.get();
+        final ZonedDateTime created = randomData.now();
+        final ImmutablePerson.Builder builder = ImmutablePerson.builder();
+        final StringBuilder comments = new StringBuilder();
+        return random -> newPerson(dictionaries, created, builder, comments, random);
+    }
+
+    private Person newPerson(
+            final Dictionaries dictionaries,
+            final ZonedDateTime created,
+            final ImmutablePerson.Builder builder,
+            final StringBuilder comments,
+            final Random random) {
+        final Gender gender = dictionaries.genders[random.nextInt(dictionaries.genders.length)];
 
         final String firstName;
         switch (gender) {
         case FEMALE:
-            firstName = randomData.nextString("name.female");
+            firstName = dictionaries.female.nextString(random);
             break;
         case MALE:
-            firstName = randomData.nextString("name.male");
+            firstName = dictionaries.male.nextString(random);
             break;
         default:
             throw new IllegalStateException("Unknown gender: " + gender);
         }
 
-        final Person person = ImmutablePerson.builder() //
+        builder //
                 .firstName(firstName) //
-                .lastName(randomData.nextString("name.surname")) //
+                .lastName(dictionaries.surname.nextString(random)) //
                 .gender(gender) //
-                .title(randomData.nextString("job.title")) //
-                .birthdate(randomData.nextDate("birthday")) //
-                .comments(randomData.nextParagraphs("words.lorem", 1, 1)) //
+                .title(dictionaries.title.nextString(random));
+
+        final ZonedDateTime birthdate = dictionaries.birthdates.next(random);
+        comments.setLength(0);
+        return builder //
+                .birthdate(birthdate) //
+                .age(age(birthdate, created)) //
+                .comments(dictionaries.text.appendParagraphs(comments, 1, 1, random).toString()) //
+                .id(dictionaries.ids.nextId(random)) //
+                .created(created) //
+                .updated(created) //
                 .build();
-        return person;
+    }
+
+    @Override
+    public Person next(final Random random) {
+        return newPerson(dictionaries.get(), randomData.now(), ImmutablePerson.builder(), new StringBuilder(), random);
     }
 }
@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.service;
+
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.arakelian.faker.random.SeededRandom;
+import com.arakelian.faker.service.AbstractRandomService.Generator;
+import com.google.common.base.Preconditions;
+
+/**
+ * Publishes a fixed number of random values to each subscriber, generating values only as fast as
+ * the subscriber requests them. Nothing is buffered: values are generated on the supplied
+ * executor, in response to demand, and delivered immediately.
+ *
+ * <p>
+ * Generation for a subscriber never runs on more than one thread at a time, and yields the
+ * executor after a small batch of values, so an executor can be shared by many subscribers. On
+ * Java 21 and later, {@code Executors.newVirtualThreadPerTaskExecutor()} is a good choice.
+ * </p>
+ *
+ * <p>
+ * When the underlying {@link RandomData} is seeded, every subscriber receives the same values.
+ * </p>
+ *
+ * @param <T>
+ *            type of values
+ */
+public final class RecordPublisher<T> implements Flow.Publisher<T> {
+    /**
+     * Delivers values to a single subscriber.
+     */
+    private final class Producer implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super T> subscriber;
+
+        private final AtomicLong demand = new AtomicLong();
+
+        /** True while a drain is scheduled or running **/
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        /** Set once {@link Flow.Subscriber#onSubscribe(Flow.Subscription)} has returned **/
+        private volatile boolean started;
+
+        private volatile boolean cancelled;
+
+        private volatile Throwable error;
+
+        private Generator<T> generator;
+
+        private SeededRandom seeded;
+
+        private long index;
+
+        private Producer(final Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+            this.index = origin;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private void execute() {
+            try {
+                executor.execute(this);
+            } catch (final RejectedExecutionException e) {
+                terminate(e);
+            }
+        }
+
+        private T next() {
+            if (generator == null) {
+                generator = service.newGenerator();
+            }
+            final RandomData randomData = service.getRandomData();
+            final Random random;
+            if (randomData.isSeeded()) {
+                if (seeded == null) {
+                    seeded = new SeededRandom(randomData.seed());
+                }
+                seeded.reset(randomData.seed(), index);
+                random = seeded;
+            } else {
+                random = randomData.random();
+            }
+            return service.measure(generator, random);
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("non-positive subscription request: " + n);
+            } else {
+                demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            }
+            if (started) {
+                schedule();
+            }
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+
+            try {
+                if (error != null) {
+                    terminate(error);
+                    return;
+                }
+
+                final long requested = demand.get();
+                long emitted = 0;
+                while (emitted < requested && emitted < BATCH_SIZE && index < fence && !cancelled) {
+                    subscriber.onNext(next());
+                    index++;
+                    emitted++;
+                }
+                if (requested != Long.MAX_VALUE) {
+                    demand.addAndGet(-emitted);
+                }
+
+                if (index == fence && !cancelled) {
+                    terminate(null);
+                    return;
+                }
+            } catch (final Throwable t) {
+                terminate(t);
+                return;
+            }
+
+            if (demand.get() > 0 && !cancelled) {
+                // yield to other tasks, but keep ownership of the drain
+                execute();
+                return;
+            }
+
+            // check for demand that arrived after we stopped looking
+            running.set(false);
+            if ((demand.get() > 0 || error != null) && !cancelled && running.compareAndSet(false, true)) {
+                execute();
+            }
+        }
+
+        private void schedule() {
+            if (!cancelled && running.compareAndSet(false, true)) {
+                execute();
+            }
+        }
+
+        private void start() {
+            started = true;
+
+            // we may already have demand, or have nothing to publish
+            schedule();
+        }
+
+        private void terminate(final Throwable t) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            generator = null;
+            if (t != null) {
+                subscriber.onError(t);
+            } else {
+                subscriber.onComplete();
+            }
+        }
+    }
+
+    /** Maximum number of values that are generated before yielding the executor **/
+    private static final int BATCH_SIZE = 256;
+
+    private final AbstractRandomService<T> service;
+
+    private final long origin;
+
+    private final long fence;
+
+    private final Executor executor;
+
+    RecordPublisher(
+            final AbstractRandomService<T> service,
+            final long origin,
+            final long count,
+            final Executor executor) {
+        Preconditions.checkArgument(count >= 0, "count must be non-negative");
+        this.service = Preconditions.checkNotNull(service);
+        this.origin = origin;
+        this.fence = origin + count;
+        this.executor = Preconditions.checkNotNull(executor);
+    }
+
+    public long getCount() {
+        return fence - origin;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super T> subscriber) {
+        Preconditions.checkNotNull(subscriber);
+        final Producer producer = new Producer(subscriber);
+        subscriber.onSubscribe(producer);
+        producer.start();
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.service;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.function.ToLongFunction;
+
+import com.arakelian.faker.random.LongHashSet;
+import com.arakelian.faker.random.SeededRandom;
+import com.google.common.base.Preconditions;
+
+/**
+ * Generates values whose keys are unique, by redrawing any value whose key has already been seen;
+ * see {@link AbstractRandomService#unique(ToLongFunction)}.
+ *
+ * <p>
+ * Keys are tracked in a primitive set, so memory use is proportional to the number of values
+ * generated, at roughly 11 to 21 bytes each, rather than to the size of the values. Keys are usually
+ * 64-bit hashes of a few fields (see {@link #hash(CharSequence)} and {@link #combine(long, long)});
+ * a hash collision can only cause a value to be redrawn, never a duplicate.
+ * </p>
+ *
+ * <p>
+ * Because each value depends on the values generated before it, seeded datasets are only
+ * reproducible when they are generated in the same order.
+ * </p>
+ *
+ * @param <T>
+ *            type of value
+ */
+public class UniqueRandomService<T> extends AbstractRandomService<T> {
+    /** Number of consecutive duplicates after which the value space is considered exhausted **/
+    public static final int DEFAULT_MAX_ATTEMPTS = 1000;
+
+    /**
+     * Combines two keys into one.
+     *
+     * @param key
+     *            first key
+     * @param other
+     *            second key
+     * @return combined key
+     */
+    public static long combine(final long key, final long other) {
+        return SeededRandom.mix(key * 31 + other);
+    }
+
+    /**
+     * Returns a 64-bit hash of the given characters, for use as a key.
+     *
+     * @param value
+     *            characters to hash, or null
+     * @return 64-bit hash
+     */
+    public static long hash(final CharSequence value) {
+        if (value == null) {
+            return 0;
+        }
+        long hash = 0x9e3779b97f4a7c15L;
+        for (int i = 0, length = value.length(); i < length; i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        return SeededRandom.mix(hash);
+    }
+
+    private final AbstractRandomService<T> delegate;
+
+    private final ToLongFunction<? super T> key;
+
+    /** Number of distinct keys, or {@link Long#MAX_VALUE} if unknown **/
+    private final long capacity;
+
+    private final int maxAttempts;
+
+    /** Keys that have been generated; guarded by itself **/
+    private final LongHashSet seen = new LongHashSet();
+
+    public UniqueRandomService(
+            final AbstractRandomService<T> delegate,
+            final ToLongFunction<? super T> key,
+            final long capacity,
+            final int maxAttempts) {
+        super(delegate.getRandomData());
+        this.delegate = delegate;
+        this.key = Preconditions.checkNotNull(key, "key must be non-null");
+        Preconditions.checkArgument(capacity > 0, "capacity must be positive");
+        Preconditions.checkArgument(maxAttempts > 0, "maxAttempts must be positive");
+        this.capacity = capacity;
+        this.maxAttempts = maxAttempts;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    /**
+     * Returns an estimate of the heap used to track the keys that have been generated.
+     *
+     * @return estimated size, in bytes
+     */
+    public long getRetainedSize() {
+        synchronized (seen) {
+            return seen.getRetainedSize();
+        }
+    }
+
+    /**
+     * Returns true if every key in the value space has been generated. Exhaustion can only be
+     * detected up front if a capacity was specified; otherwise, it is reported by a
+     * {@link NoSuchElementException} once too many consecutive values have been duplicates.
+     *
+     * @return true if every key in the value space has been generated
+     */
+    public boolean isExhausted() {
+        return size() >= capacity;
+    }
+
+    @Override
+    protected Generator<T> newGenerator() {
+        final Generator<T> generator = delegate.newGenerator();
+        return random -> next(generator, random);
+    }
+
+    private T next(final Generator<T> generator, final Random random) {
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            final T value = generator.next(random);
+            final long k = key.applyAsLong(value);
+            synchronized (seen) {
+                if (seen.size() >= capacity) {
+                    break;
+                }
+                if (seen.add(k)) {
+                    return value;
+                }
+            }
+        }
+        throw new NoSuchElementException(
+                "Unique values exhausted after " + size() + " value(s) of " + getName());
+    }
+
+    @Override
+    public T next(final Random random) {
+        return newGenerator().next(random);
+    }
+
+    /**
+     * Forgets the keys that have been generated, so that they may be generated again.
+     */
+    public void reset() {
+        synchronized (seen) {
+            seen.clear();
+        }
+    }
+
+    /**
+     * Returns the number of unique values that have been generated.
+     *
+     * @return the number of unique values that have been generated
+     */
+    public long size() {
+        synchronized (seen) {
+            return seen.size();
+        }
+    }
+}
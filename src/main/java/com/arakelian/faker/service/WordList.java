@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.service;
+
+import java.util.Objects;
+
+import com.arakelian.faker.reader.TextReader;
+import com.arakelian.faker.service.RandomData.Capitalization;
+
+/**
+ * Lower, upper and title case variants of the first column of a dictionary, computed once so
+ * that generating text does not create a new string per word.
+ */
+final class WordList {
+    private static String toTitleCase(final String word) {
+        if (word.isEmpty()) {
+            return word;
+        }
+        return word.substring(0, 1).toUpperCase() + word.substring(1).toLowerCase();
+    }
+
+    private final String[] lower;
+
+    private final String[] upper;
+
+    private final String[] title;
+
+    public WordList(final TextReader<?> reader) {
+        final int size = reader.getRowCount();
+        lower = new String[size];
+        upper = new String[size];
+        title = new String[size];
+
+        for (int row = 0; row < size; row++) {
+            final String word = Objects.toString(reader.getValue(row, 0, Object.class), "");
+            lower[row] = reuse(word, word.toLowerCase());
+            upper[row] = reuse(word, word.toUpperCase());
+            title[row] = reuse(word, toTitleCase(word));
+        }
+    }
+
+    public String get(final int index, final Capitalization capitalization) {
+        switch (capitalization) {
+        case TITLE:
+            return title[index];
+        case UPPER:
+            return upper[index];
+        case LOWER:
+        default:
+            return lower[index];
+        }
+    }
+
+    private String reuse(final String word, final String variant) {
+        // avoid keeping duplicate copies of identical strings
+        return word.equals(variant) ? word : variant;
+    }
+
+    public int size() {
+        return lower.length;
+    }
+}
@@ -0,0 +1,453 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.text;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.arakelian.faker.random.AliasTable;
+import com.google.common.base.Preconditions;
+
+/**
+ * Generates text from an n-gram Markov model of a corpus, so that generated text has the term
+ * frequencies, word pairs and sentence lengths of real text, rather than those of words drawn
+ * uniformly from a list.
+ *
+ * <p>
+ * The model is trained once. A state is the previous {@code order} tokens of a sentence, and the
+ * transitions out of every state are stored back to back in primitive arrays, together with an
+ * alias table and the state that each transition leads to. Generating a token therefore costs a
+ * random int, at most one random double and a few array lookups, and appends the characters of the
+ * token to the caller's buffer without creating any strings.
+ * </p>
+ *
+ * <p>
+ * Instances are immutable and thread-safe.
+ * </p>
+ */
+public final class MarkovText {
+    /**
+     * Collects transition counts while a corpus is read.
+     */
+    private static final class Trainer {
+        private final int order;
+
+        private final Map<String, Integer> tokenIds = new HashMap<>();
+
+        private final List<String> tokens = new ArrayList<>();
+
+        private final Map<Long, Integer> stateIds = new HashMap<>();
+
+        private final List<int[]> states = new ArrayList<>();
+
+        /** Transition counts, keyed by state and token **/
+        private final Map<Long, Integer> counts = new HashMap<>();
+
+        private final int[] context;
+
+        private Trainer(final int order) {
+            this.order = order;
+            this.context = new int[order];
+            tokenId(""); // sentence boundary
+            stateId(context);
+        }
+
+        private void accept(final String token) {
+            final boolean punctuation = isPunctuation(token.charAt(0));
+            if (punctuation && isStart()) {
+                // sentences start with a word
+                return;
+            }
+
+            final int id = tokenId(token);
+            final long key = (long) stateId(context) << 32 | id;
+            counts.merge(key, 1, Integer::sum);
+
+            if (isTerminal(token.charAt(0))) {
+                Arrays.fill(context, 0);
+            } else {
+                System.arraycopy(context, 1, context, 0, order - 1);
+                context[order - 1] = id;
+            }
+        }
+
+        private MarkovText build() {
+            // end a sentence that was left open at the end of the corpus, so there are no dead ends
+            if (!isStart()) {
+                accept(".");
+            }
+            Preconditions.checkArgument(!counts.isEmpty(), "Corpus does not contain any words");
+
+            final long[] keys = new long[counts.size()];
+            int n = 0;
+            for (final Long key : counts.keySet()) {
+                keys[n++] = key.longValue();
+            }
+            Arrays.sort(keys);
+
+            final int stateCount = states.size();
+            final int[] offsets = new int[stateCount + 1];
+            final int[] transitions = new int[keys.length];
+            final int[] next = new int[keys.length];
+            final double[] weights = new double[keys.length];
+            final int[] shifted = new int[order];
+            for (int i = 0; i < keys.length; i++) {
+                final int state = (int) (keys[i] >>> 32);
+                final int token = (int) keys[i];
+                offsets[state + 1]++;
+                transitions[i] = token;
+                weights[i] = counts.get(keys[i]);
+
+                if (isTerminal(tokens.get(token).charAt(0))) {
+                    next[i] = 0;
+                } else {
+                    System.arraycopy(states.get(state), 1, shifted, 0, order - 1);
+                    shifted[order - 1] = token;
+                    next[i] = stateIds.get(pack(shifted));
+                }
+            }
+            for (int i = 0; i < stateCount; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+
+            final double[] probability = new double[keys.length];
+            final int[] alias = new int[keys.length];
+            for (int i = 0; i < stateCount; i++) {
+                AliasTable.build(weights, offsets[i], offsets[i + 1], probability, alias);
+            }
+
+            final int size = tokens.size();
+            final char[][] text = new char[size][];
+            final boolean[] attached = new boolean[size];
+            final boolean[] terminal = new boolean[size];
+            for (int i = 1; i < size; i++) {
+                final String token = tokens.get(i);
+                text[i] = token.toCharArray();
+                attached[i] = isPunctuation(token.charAt(0));
+                terminal[i] = isTerminal(token.charAt(0));
+            }
+
+            return new MarkovText(order, text, attached, terminal, offsets, transitions, next, probability, alias);
+        }
+
+        private boolean isStart() {
+            for (final int id : context) {
+                if (id != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private long pack(final int[] ids) {
+            long key = 0;
+            for (final int id : ids) {
+                key = key << BITS_PER_TOKEN | id;
+            }
+            return key;
+        }
+
+        private int stateId(final int[] ids) {
+            final Integer id = stateIds.get(pack(ids));
+            if (id != null) {
+                return id.intValue();
+            }
+            final int next = states.size();
+            stateIds.put(pack(ids), next);
+            states.add(ids.clone());
+            return next;
+        }
+
+        private int tokenId(final String token) {
+            final Integer id = tokenIds.get(token);
+            if (id != null) {
+                return id.intValue();
+            }
+            final int next = tokens.size();
+            Preconditions.checkState(next <= MAX_TOKENS, "Corpus has too many distinct tokens");
+            tokenIds.put(token, next);
+            tokens.add(token);
+            return next;
+        }
+    }
+
+    public static final int DEFAULT_ORDER = 2;
+
+    public static final int MAX_ORDER = 3;
+
+    /** Sentences that have not ended after this many tokens are ended with a period **/
+    private static final int MAX_SENTENCE_LENGTH = 100;
+
+    private static final int BITS_PER_TOKEN = 21;
+
+    private static final int MAX_TOKENS = (1 << BITS_PER_TOKEN) - 1;
+
+    private static boolean isPunctuation(final char ch) {
+        return ch == ',' || ch == ';' || ch == ':' || isTerminal(ch);
+    }
+
+    private static boolean isTerminal(final char ch) {
+        return ch == '.' || ch == '!' || ch == '?';
+    }
+
+    private static boolean isWord(final char ch) {
+        return Character.isLetterOrDigit(ch);
+    }
+
+    /**
+     * Trains a model of the given corpus. Words are runs of letters and digits, which may contain
+     * apostrophes and hyphens; commas, semicolons, colons and sentence-ending punctuation are
+     * tokens of their own, and all other characters are ignored.
+     *
+     * @param reader
+     *            corpus
+     * @param order
+     *            number of previous tokens that each token depends on, from 1 to {@link #MAX_ORDER}
+     * @return a model of the corpus
+     * @throws IOException
+     *             if the corpus cannot be read
+     */
+    public static MarkovText train(final Reader reader, final int order) throws IOException {
+        Preconditions.checkArgument(order >= 1 && order <= MAX_ORDER, "order must be between 1 and %s", MAX_ORDER);
+
+        final Trainer trainer = new Trainer(order);
+        final StringBuilder word = new StringBuilder();
+        final char[] buf = new char[8192];
+        for (int n; (n = reader.read(buf)) != -1;) {
+            for (int i = 0; i < n; i++) {
+                final char ch = buf[i];
+                if (isWord(ch) || (ch == '\'' || ch == '-') && word.length() != 0) {
+                    word.append(ch);
+                    continue;
+                }
+                if (word.length() != 0) {
+                    trainer.accept(trimWord(word));
+                    word.setLength(0);
+                }
+                if (isPunctuation(ch)) {
+                    trainer.accept(String.valueOf(ch));
+                }
+            }
+        }
+        if (word.length() != 0) {
+            trainer.accept(trimWord(word));
+        }
+        return trainer.build();
+    }
+
+    private static String trimWord(final StringBuilder word) {
+        // apostrophes and hyphens only belong inside a word
+        int end = word.length();
+        while (!isWord(word.charAt(end - 1))) {
+            end--;
+        }
+        return word.substring(0, end);
+    }
+
+    private final int order;
+
+    /** Characters of each token; token zero marks the boundary between sentences **/
+    private final char[][] text;
+
+    /** True for tokens that are not preceded by a space **/
+    private final boolean[] attached;
+
+    /** True for tokens that end a sentence **/
+    private final boolean[] terminal;
+
+    /** Transitions out of state {@code i} occupy {@code [offsets[i], offsets[i + 1])} **/
+    private final int[] offsets;
+
+    private final int[] transitions;
+
+    private final int[] next;
+
+    private final double[] probability;
+
+    private final int[] alias;
+
+    private MarkovText(
+            final int order,
+            final char[][] text,
+            final boolean[] attached,
+            final boolean[] terminal,
+            final int[] offsets,
+            final int[] transitions,
+            final int[] next,
+            final double[] probability,
+            final int[] alias) {
+        this.order = order;
+        this.text = text;
+        this.attached = attached;
+        this.terminal = terminal;
+        this.offsets = offsets;
+        this.transitions = transitions;
+        this.next = next;
+        this.probability = probability;
+        this.alias = alias;
+    }
+
+    /**
+     * Appends one or more paragraphs of generated sentences to the given buffer. Paragraphs are
+     * separated by newlines, and sentences by two spaces.
+     *
+     * @param buf
+     *            destination buffer
+     * @param min
+     *            minimum number of paragraphs
+     * @param max
+     *            maximum number of paragraphs
+     * @param random
+     *            random number generator
+     * @return the given buffer
+     */
+    public StringBuilder appendParagraphs(
+            final StringBuilder buf,
+            final int min,
+            final int max,
+            final Random random) {
+        Preconditions.checkArgument(min >= 0 && min <= max, "invalid range: %s to %s", min, max);
+        final int paragraphs = min + random.nextInt(max - min + 1);
+        for (int p = 0; p < paragraphs; p++) {
+            if (p != 0) {
+                buf.append('\n');
+            }
+            final int sentences = 2 + random.nextInt(5);
+            for (int s = 0; s < sentences; s++) {
+                if (s != 0) {
+                    buf.append("  ");
+                }
+                appendSentence(buf, random);
+            }
+        }
+        return buf;
+    }
+
+    /**
+     * Appends a generated sentence to the given buffer.
+     *
+     * @param buf
+     *            destination buffer
+     * @param random
+     *            random number generator
+     * @return the given buffer
+     */
+    public StringBuilder appendSentence(final StringBuilder buf, final Random random) {
+        final int start = buf.length();
+        int state = 0;
+        for (int n = 0; n < MAX_SENTENCE_LENGTH; n++) {
+            final int from = offsets[state];
+            final int size = offsets[state + 1] - from;
+            int transition = from;
+            if (size != 1) {
+                transition += random.nextInt(size);
+                if (random.nextDouble() >= probability[transition]) {
+                    transition = alias[transition];
+                }
+            }
+
+            final int token = transitions[transition];
+            if (!attached[token] && buf.length() != start) {
+                buf.append(' ');
+            }
+            buf.append(text[token]);
+            if (terminal[token]) {
+                break;
+            }
+            state = next[transition];
+            if (n == MAX_SENTENCE_LENGTH - 1) {
+                buf.append('.');
+            }
+        }
+        buf.setCharAt(start, Character.toUpperCase(buf.charAt(start)));
+        return buf;
+    }
+
+    public int getOrder() {
+        return order;
+    }
+
+    /**
+     * Returns an estimate of the heap used by this model.
+     *
+     * @return estimated size, in bytes
+     */
+    public long getRetainedSize() {
+        long size = 64 + (long) offsets.length * Integer.BYTES;
+        size += (long) transitions.length * (3 * Integer.BYTES + Double.BYTES);
+        for (int i = 1; i < text.length; i++) {
+            size += 16 + text[i].length * Character.BYTES + 2;
+        }
+        return size + (long) text.length * 8;
+    }
+
+    /**
+     * Returns the number of states, i.e. distinct sequences of {@link #getOrder()} tokens that
+     * start sentences or are followed by another token.
+     *
+     * @return the number of states
+     */
+    public int getStateCount() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Returns the number of distinct transitions between states.
+     *
+     * @return the number of distinct transitions
+     */
+    public int getTransitionCount() {
+        return transitions.length;
+    }
+
+    /**
+     * Returns the number of distinct words and punctuation marks in the corpus.
+     *
+     * @return the number of distinct tokens
+     */
+    public int getVocabularySize() {
+        return text.length - 1;
+    }
+
+    /**
+     * Returns one or more paragraphs of generated sentences.
+     *
+     * @param min
+     *            minimum number of paragraphs
+     * @param max
+     *            maximum number of paragraphs
+     * @param random
+     *            random number generator
+     * @return generated paragraphs
+     */
+    public String nextParagraphs(final int min, final int max, final Random random) {
+        return appendParagraphs(new StringBuilder(), min, max, random).toString();
+    }
+
+    @Override
+    public String toString() {
+        return "MarkovText[order=" + order + ", states=" + getStateCount() + ", transitions="
+                + getTransitionCount() + "]";
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.writer;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import com.arakelian.jackson.utils.JacksonUtils;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+
+/**
+ * Streams records to an output stream as newline-delimited JSON or CSV, using a single Jackson
+ * {@link JsonGenerator} for the life of the writer, so that arbitrarily large files can be written
+ * in constant heap.
+ *
+ * @param <T>
+ *            record type
+ */
+public class RecordWriter<T> implements Closeable, Flushable {
+    public enum Format {
+        /**
+         * Comma-separated values, with a header row. Columns are the JSON properties declared by
+         * the class of the first record, in the order that Jackson serializes them, followed by any
+         * other properties of the first record; nested values are written as JSON. A later record
+         * with a property that has no column is rejected rather than silently truncated.
+         */
+        CSV,
+
+        /** One JSON object per line **/
+        NDJSON;
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Returns a writer that streams records to the given file, which is created or truncated. The
+     * file is closed if the writer cannot be created.
+     *
+     * @param path
+     *            destination file
+     * @param format
+     *            output format
+     * @return a writer that streams records to the given file
+     * @throws IOException
+     *             if the file cannot be opened
+     */
+    public static <T> RecordWriter<T> open(final Path path, final Format format) throws IOException {
+        Preconditions.checkNotNull(path, "path must be non-null");
+        final OutputStream out = Files.newOutputStream(path);
+        try {
+            return new RecordWriter<>(out, format);
+        } catch (final IOException | RuntimeException e) {
+            try {
+                out.close();
+            } catch (final IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    private final Format format;
+
+    private final ObjectMapper mapper;
+
+    private final ObjectWriter writer;
+
+    private final JsonGenerator generator;
+
+    /** CSV column names, determined by class of first record **/
+    private String[] columns;
+
+    /** CSV values of current row, by column **/
+    private String[] cells;
+
+    /** Class of first CSV record, and writer with its serializer resolved **/
+    private Class<?> csvClass;
+
+    private ObjectWriter csvWriter;
+
+    /** Number of records written **/
+    private long count;
+
+    public RecordWriter(final OutputStream out, final Format format) throws IOException {
+        Preconditions.checkNotNull(out, "out must be non-null");
+        this.format = Preconditions.checkNotNull(format, "format must be non-null");
+        this.mapper = JacksonUtils.getObjectMapper();
+        this.writer = mapper.writer() //
+                .without(SerializationFeature.INDENT_OUTPUT) //
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        // generator has its own buffer, but we want fewer, larger writes to underlying stream
+        this.generator = mapper.getFactory()
+                .createGenerator(new BufferedOutputStream(out, BUFFER_SIZE), JsonEncoding.UTF8);
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * Returns the properties that the serializer of the given class declares, in order; this does
+     * not include dynamic properties, and is empty for serializers that do not describe their
+     * properties (e.g. for maps).
+     */
+    private List<String> columnsOf(final Class<?> type) throws IOException {
+        final List<String> names = Lists.newArrayList();
+        final Iterator<PropertyWriter> properties = mapper.getSerializerProviderInstance()
+                .findValueSerializer(type)
+                .properties();
+        while (properties.hasNext()) {
+            names.add(properties.next().getName());
+        }
+        return names;
+    }
+
+    private int indexOf(final String column, final int expected) {
+        // records of the same class list their properties in the same order
+        if (expected < columns.length && columns[expected].equals(column)) {
+            return expected;
+        }
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i].equals(column)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the CSV value of the current token, which is written as JSON if it is an object or
+     * array, and consumes the token.
+     */
+    private String toCsvValue(final JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+        case VALUE_NULL:
+            return null;
+        case START_ARRAY:
+        case START_OBJECT:
+            final StringWriter json = new StringWriter();
+            try (JsonGenerator nested = mapper.getFactory().createGenerator(json)) {
+                nested.copyCurrentStructure(parser);
+            }
+            return json.toString();
+        default:
+            return parser.getText();
+        }
+    }
+
+    public void write(final T record) throws IOException {
+        Preconditions.checkNotNull(record, "record must be non-null");
+        switch (format) {
+        case CSV:
+            writeCsv(record);
+            break;
+        case NDJSON:
+            writer.writeValue(generator, record);
+            generator.writeRaw('\n');
+            break;
+        default:
+            throw new IllegalStateException("Unsupported format: " + format);
+        }
+        count++;
+    }
+
+    public long writeAll(final Iterator<? extends T> records) throws IOException {
+        final long start = count;
+        while (records.hasNext()) {
+            write(records.next());
+        }
+        return count - start;
+    }
+
+    private void writeCsv(final T record) throws IOException {
+        // serializer is resolved once, and records are buffered as tokens rather than as trees
+        if (csvClass == null) {
+            csvClass = record.getClass();
+            csvWriter = writer.forType(csvClass);
+        }
+        final TokenBuffer tokens = new TokenBuffer(mapper, false);
+        (record.getClass() == csvClass ? csvWriter : writer).writeValue(tokens, record);
+
+        try (JsonParser parser = tokens.asParser()) {
+            Preconditions.checkState(
+                    parser.nextToken() == JsonToken.START_OBJECT,
+                    "%s is not serialized as a JSON object",
+                    record.getClass().getName());
+
+            if (columns == null) {
+                // dynamic properties (e.g. maps, or any-getters) are known only from the record
+                final List<String> names = columnsOf(csvClass);
+                try (JsonParser first = tokens.asParser()) {
+                    first.nextToken();
+                    while (first.nextToken() == JsonToken.FIELD_NAME) {
+                        if (!names.contains(first.currentName())) {
+                            names.add(first.currentName());
+                        }
+                        first.nextToken();
+                        first.skipChildren();
+                    }
+                }
+                columns = names.toArray(new String[names.size()]);
+                cells = new String[columns.length];
+                writeCsvRow(columns);
+            }
+
+            Arrays.fill(cells, null);
+            for (int i = 0; parser.nextToken() == JsonToken.FIELD_NAME; i++) {
+                final String name = parser.currentName();
+                final int column = indexOf(name, i);
+                if (column == -1) {
+                    throw new IllegalStateException("Property \"" + name + "\" of "
+                            + record.getClass().getName() + " is not one of the CSV columns "
+                            + Arrays.toString(columns));
+                }
+                parser.nextToken();
+                cells[column] = toCsvValue(parser);
+            }
+        }
+        writeCsvRow(cells);
+    }
+
+    private void writeCsvRow(final String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i != 0) {
+                generator.writeRaw(',');
+            }
+            if (values[i] != null) {
+                writeCsvValue(values[i]);
+            }
+        }
+        generator.writeRaw('\n');
+    }
+
+    private void writeCsvValue(final String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0, length = value.length(); i < length && !quote; i++) {
+            final char ch = value.charAt(i);
+            quote = ch == ',' || ch == '"' || ch == '\n' || ch == '\r';
+        }
+
+        if (!quote) {
+            generator.writeRaw(value);
+            return;
+        }
+
+        generator.writeRaw('"');
+        int start = 0;
+        for (int quoteAt = value.indexOf('"'); quoteAt != -1; quoteAt = value.indexOf('"', start)) {
+            generator.writeRaw(value, start, quoteAt + 1 - start);
+            generator.writeRaw('"');
+            start = quoteAt + 1;
+        }
+        generator.writeRaw(value, start, value.length() - start);
+        generator.writeRaw('"');
+    }
+}
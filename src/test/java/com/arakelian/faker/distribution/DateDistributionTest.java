@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.distribution;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class DateDistributionTest {
+    private static final ZonedDateTime AS_OF = ZonedDateTime.of(2020, 4, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private static double age(final long epochMilli) {
+        return (AS_OF.toInstant().toEpochMilli() - epochMilli) / AgePyramid.MILLIS_PER_YEAR;
+    }
+
+    @Test
+    public void testAgePyramid() {
+        final DateDistribution distribution = DateDistribution.agePyramid(AS_OF);
+        final Random random = new Random(0);
+        final int samples = 200_000;
+        final int[] groups = new int[20];
+        for (int i = 0; i < samples; i++) {
+            final double age = age(distribution.nextEpochMilli(random));
+            Assertions.assertTrue(age >= 0 && age <= AgePyramid.MAX_AGE, Double.toString(age));
+            groups[Math.min(17, (int) (age / 5))]++;
+        }
+
+        // 25-29 year olds outnumber 75-79 year olds by 6.8 to 2.9
+        Assertions.assertEquals(6.8 / 2.9, groups[5] / (double) groups[15], 0.15);
+        Assertions.assertEquals(5.7 / 100.9, groups[0] / (double) samples, 0.003);
+    }
+
+    @Test
+    public void testAgePyramidBetween() {
+        final ZonedDateTime from = ZonedDateTime.of(1950, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        final ZonedDateTime to = ZonedDateTime.of(2000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        final DateDistribution distribution = DateDistribution.agePyramid(AS_OF, from, to);
+        final Random random = new Random(0);
+        for (int i = 0; i < 10_000; i++) {
+            final ZonedDateTime date = distribution.next(random);
+            Assertions.assertTrue(!date.isBefore(from) && !date.isAfter(to), date.toString());
+        }
+
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> DateDistribution.agePyramid(AS_OF, AS_OF.plusYears(1), AS_OF.plusYears(2)));
+    }
+
+    @Test
+    public void testEpochDay() {
+        final DateDistribution distribution = DateDistribution.uniform(AS_OF.minusYears(100), AS_OF);
+        for (int i = 0; i < 1000; i++) {
+            final ZonedDateTime date = distribution.next(new Random(i));
+            final int epochDay = distribution.nextEpochDay(new Random(i));
+            Assertions.assertEquals(date.toLocalDate().toEpochDay(), epochDay);
+        }
+    }
+
+    @Test
+    public void testUniform() {
+        final DateDistribution distribution = DateDistribution.uniform(AS_OF, AS_OF.plusDays(1));
+        final Random random = new Random(0);
+        for (int i = 0; i < 1000; i++) {
+            final ZonedDateTime date = distribution.next(random);
+            Assertions.assertEquals(AS_OF.toLocalDate(), date.toLocalDate());
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> DateDistribution.uniform(AS_OF, AS_OF));
+    }
+}
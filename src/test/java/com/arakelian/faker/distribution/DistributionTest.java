@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.distribution;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class DistributionTest {
+    private static final int SAMPLES = 200_000;
+
+    private static double mean(final Distribution distribution) {
+        final Random random = new Random(0);
+        double sum = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            sum += distribution.next(random);
+        }
+        return sum / SAMPLES;
+    }
+
+    @Test
+    public void testClamp() {
+        final Distribution distribution = Distribution.normal(0, 10).clamp(-1, 1);
+        final Random random = new Random(0);
+        for (int i = 0; i < 1000; i++) {
+            final double value = distribution.next(random);
+            Assertions.assertTrue(value >= -1 && value <= 1);
+        }
+    }
+
+    @Test
+    public void testEmpirical() {
+        final Distribution distribution = Distribution.empirical(new double[] { 10, 20, 30 }, new double[] { 1, 0, 3 });
+        final Random random = new Random(0);
+        int thirty = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            final double value = distribution.next(random);
+            Assertions.assertTrue(value == 10 || value == 30);
+            if (value == 30) {
+                thirty++;
+            }
+        }
+        Assertions.assertEquals(0.75, thirty / (double) SAMPLES, 0.01);
+        Assertions.assertEquals(20, mean(Distribution.empirical(10, 20, 30)), 0.1);
+    }
+
+    @Test
+    public void testExponential() {
+        Assertions.assertEquals(5, mean(Distribution.exponential(5)), 0.1);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Distribution.exponential(0));
+    }
+
+    @Test
+    public void testInvalid() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Distribution.uniform(1, 1));
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> Distribution.piecewise(new double[] { 0, 1 }, new double[] { 1, 1 }));
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> Distribution.piecewise(new double[] { 0, 2, 1 }, new double[] { 1, 1 }));
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> Distribution.empirical(new double[] { 1 }, new double[] { 1, 2 }));
+    }
+
+    @Test
+    public void testLogNormal() {
+        // mean of log-normal is exp(mu + sigma^2 / 2)
+        Assertions.assertEquals(Math.exp(1 + 0.125), mean(Distribution.logNormal(1, 0.5)), 0.02);
+    }
+
+    @Test
+    public void testNextInt() {
+        final Distribution distribution = random -> 2.6;
+        Assertions.assertEquals(3, distribution.nextInt(new Random(0)));
+        Assertions.assertEquals(3L, distribution.nextLong(new Random(0)));
+    }
+
+    @Test
+    public void testNormal() {
+        final Distribution distribution = Distribution.normal(100, 15);
+        final Random random = new Random(0);
+        double sum = 0;
+        double sumOfSquares = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            final double value = distribution.next(random);
+            sum += value;
+            sumOfSquares += value * value;
+        }
+        final double mean = sum / SAMPLES;
+        Assertions.assertEquals(100, mean, 0.2);
+        Assertions.assertEquals(15, Math.sqrt(sumOfSquares / SAMPLES - mean * mean), 0.2);
+    }
+
+    @Test
+    public void testPiecewise() {
+        final Distribution distribution = Distribution.piecewise(new double[] { 0, 10, 100 }, new double[] { 9, 1 });
+        final Random random = new Random(0);
+        int low = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            final double value = distribution.next(random);
+            Assertions.assertTrue(value >= 0 && value < 100);
+            if (value < 10) {
+                low++;
+            }
+        }
+        Assertions.assertEquals(0.9, low / (double) SAMPLES, 0.01);
+    }
+
+    @Test
+    public void testZipf() {
+        final Distribution distribution = Distribution.zipf(100, 1.0);
+        final Random random = new Random(0);
+        int first = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            final int rank = distribution.nextInt(random);
+            Assertions.assertTrue(rank >= 1 && rank <= 100);
+            if (rank == 1) {
+                first++;
+            }
+        }
+        // P(1) = 1 / H(100) ~= 0.193
+        Assertions.assertEquals(0.193, first / (double) SAMPLES, 0.01);
+    }
+}
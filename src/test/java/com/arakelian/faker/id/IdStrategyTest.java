@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.id;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.Sets;
+
+public class IdStrategyTest {
+    @Test
+    public void testSeeded() {
+        final Set<String> ids = Sets.newHashSet();
+        final Random random = new Random(0);
+        for (int i = 0; i < 10_000; i++) {
+            final String id = IdStrategy.SEEDED.nextId(random);
+            Assertions.assertEquals(22, id.length());
+            Assertions.assertTrue(id.matches("[A-Za-z0-9_-]+"), id);
+            Assertions.assertTrue(ids.add(id));
+        }
+
+        // same random numbers yield same id
+        Assertions.assertEquals(IdStrategy.SEEDED.nextId(new Random(1)), IdStrategy.SEEDED.nextId(new Random(1)));
+    }
+
+    @Test
+    public void testSequential() {
+        final IdStrategy ids = new SequentialIdStrategy(100);
+        Assertions.assertEquals("100", ids.nextId(null));
+        Assertions.assertEquals("101", ids.nextId(null));
+        Assertions.assertEquals("1", new SequentialIdStrategy().nextId(null));
+    }
+
+    @Test
+    public void testSnowflake() {
+        final Instant epoch = SnowflakeIdStrategy.DEFAULT_EPOCH;
+        final Clock clock = Clock.fixed(epoch.plusMillis(1000), ZoneOffset.UTC);
+        final SnowflakeIdStrategy ids = new SnowflakeIdStrategy(7, clock, epoch);
+
+        // ids increase even when the clock does not move
+        long last = -1;
+        for (int i = 0; i < 10_000; i++) {
+            final long id = ids.nextId();
+            Assertions.assertTrue(id > last);
+            Assertions.assertEquals(7, id >>> 12 & SnowflakeIdStrategy.MAX_WORKER_ID);
+            last = id;
+        }
+        Assertions.assertEquals(1000L << 22 | 7 << 12, new SnowflakeIdStrategy(7, clock, epoch).nextId());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdStrategy(-1));
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new SnowflakeIdStrategy(SnowflakeIdStrategy.MAX_WORKER_ID + 1));
+    }
+}
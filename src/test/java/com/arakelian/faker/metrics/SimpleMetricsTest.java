@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.arakelian.faker.metrics.SimpleMetrics.DictionaryStats;
+import com.arakelian.faker.model.ImmutableRandomDataConfig;
+import com.arakelian.faker.model.Person;
+import com.arakelian.faker.service.RandomData;
+import com.arakelian.faker.service.RandomPerson;
+
+public class SimpleMetricsTest {
+    @Test
+    public void testHistogram() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(90, 90 * 100);
+        histogram.record(10, 10 * 10_000);
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(Duration.ofNanos(1090), histogram.getMean());
+
+        // percentiles are rounded up to a power of two
+        assertEquals(Duration.ofNanos(127), histogram.getPercentile(50));
+        assertEquals(Duration.ofNanos(16383), histogram.getPercentile(99));
+    }
+
+    @Test
+    public void testMetrics() {
+        final SimpleMetrics metrics = new SimpleMetrics();
+        final RandomData randomData = new RandomData(ImmutableRandomDataConfig.builder().metrics(metrics).build());
+        final RandomPerson person = new RandomPerson(randomData);
+
+        for (int i = 0; i < 10; i++) {
+            person.next();
+        }
+        person.fill(new Person[100]);
+        assertEquals(110, metrics.getRecordCount("RandomPerson"));
+        assertEquals(110, metrics.getLatency("RandomPerson").getCount());
+
+        final String surname = "/com/arakelian/faker/name/surname";
+        final DictionaryStats stats = metrics.getDictionaries().get(surname);
+        assertNotNull(stats);
+        assertEquals(randomData.get("name.surname").getRowCount(), stats.getRowCount());
+        assertTrue(stats.getRetainedSize() > stats.getRowCount());
+        assertEquals(110, metrics.getSampleCount(surname));
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.random;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class AliasTableTest {
+    @Test
+    public void testDistribution() {
+        final double[] weights = new double[] { 1, 0, 3, 6 };
+        final AliasTable table = new AliasTable(weights);
+        Assertions.assertEquals(4, table.size());
+
+        final int samples = 1_000_000;
+        final int[] counts = new int[weights.length];
+        final Random random = new Random(0);
+        for (int i = 0; i < samples; i++) {
+            counts[table.next(random)]++;
+        }
+
+        Assertions.assertEquals(0.1, counts[0] / (double) samples, 0.005);
+        Assertions.assertEquals(0, counts[1]);
+        Assertions.assertEquals(0.3, counts[2] / (double) samples, 0.005);
+        Assertions.assertEquals(0.6, counts[3] / (double) samples, 0.005);
+    }
+
+    @Test
+    public void testInvalidWeights() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[0]));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[] { 0, 0 }));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[] { 1, -1 }));
+    }
+}
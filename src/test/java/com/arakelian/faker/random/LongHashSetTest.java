@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.random;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LongHashSetTest {
+    @Test
+    public void testAdd() {
+        final LongHashSet set = new LongHashSet();
+        final Set<Long> expected = new HashSet<>();
+        final Random random = new Random(0);
+        for (int i = 0; i < 100_000; i++) {
+            // small range forces duplicates, and includes zero
+            final long value = (long) random.nextInt(50_000) - 1000;
+            Assertions.assertEquals(expected.add(value), set.add(value));
+        }
+        Assertions.assertEquals(expected.size(), set.size());
+        for (long value = -1000; value < 49_000; value++) {
+            Assertions.assertEquals(expected.contains(value), set.contains(value));
+        }
+
+        set.clear();
+        Assertions.assertTrue(set.isEmpty());
+        Assertions.assertFalse(set.contains(0));
+        Assertions.assertTrue(set.add(0));
+    }
+
+    @Test
+    public void testExpectedSize() {
+        final LongHashSet set = new LongHashSet(1000);
+        final long size = set.getRetainedSize();
+        for (int i = 1; i <= 1000; i++) {
+            set.add(i * 0x9e3779b97f4a7c15L);
+        }
+        Assertions.assertEquals(1000, set.size());
+        Assertions.assertEquals(size, set.getRetainedSize());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new LongHashSet(-1));
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SeededRandomTest {
+    @Test
+    public void testForRecord() {
+        final SeededRandom a = SeededRandom.forRecord(42, 1000);
+        final SeededRandom b = SeededRandom.forRecord(42, 1000);
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertEquals(a.nextLong(), b.nextLong());
+        }
+
+        // neighboring records and seeds produce different streams
+        Assertions.assertNotEquals(
+                SeededRandom.forRecord(42, 1000).nextLong(),
+                SeededRandom.forRecord(42, 1001).nextLong());
+        Assertions.assertNotEquals(
+                SeededRandom.forRecord(42, 1000).nextLong(),
+                SeededRandom.forRecord(43, 1000).nextLong());
+
+        // instances can be reused
+        a.reset(42, 1000);
+        Assertions.assertEquals(SeededRandom.forRecord(42, 1000).nextLong(), a.nextLong());
+    }
+
+    @Test
+    public void testGaussian() {
+        final SeededRandom random = SeededRandom.forRecord(42, 0);
+        random.nextGaussian();
+
+        // nothing is cached between records
+        random.reset(42, 1);
+        Assertions.assertEquals(SeededRandom.forRecord(42, 1).nextGaussian(), random.nextGaussian(), 0.0);
+
+        double sum = 0;
+        double sumOfSquares = 0;
+        final int samples = 100_000;
+        for (int i = 0; i < samples; i++) {
+            final double value = random.nextGaussian();
+            sum += value;
+            sumOfSquares += value * value;
+        }
+        Assertions.assertEquals(0, sum / samples, 0.02);
+        Assertions.assertEquals(1, sumOfSquares / samples, 0.02);
+    }
+
+    @Test
+    public void testRange() {
+        final SeededRandom random = new SeededRandom(0);
+        for (int i = 0; i < 10_000; i++) {
+            final double d = random.nextDouble();
+            Assertions.assertTrue(d >= 0 && d < 1);
+            final int n = random.nextInt(7);
+            Assertions.assertTrue(n >= 0 && n < 7);
+        }
+    }
+}
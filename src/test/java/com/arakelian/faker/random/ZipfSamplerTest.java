@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.random;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ZipfSamplerTest {
+    private static void assertDistribution(final int size, final double exponent) {
+        double total = 0;
+        final double[] expected = new double[size];
+        for (int k = 0; k < size; k++) {
+            expected[k] = 1 / Math.pow(k + 1, exponent);
+            total += expected[k];
+        }
+
+        final ZipfSampler sampler = new ZipfSampler(size, exponent);
+        final int samples = 1_000_000;
+        final int[] counts = new int[size];
+        final Random random = new Random(0);
+        for (int i = 0; i < samples; i++) {
+            counts[sampler.next(random)]++;
+        }
+
+        for (int k = 0; k < size; k++) {
+            Assertions.assertEquals(expected[k] / total, counts[k] / (double) samples, 0.003, "rank " + k);
+        }
+    }
+
+    @Test
+    public void testDistribution() {
+        assertDistribution(10, 1.0);
+        assertDistribution(10, 1.2);
+        assertDistribution(20, 0.5);
+        assertDistribution(5, 3.0);
+    }
+
+    @Test
+    public void testInvalid() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(0, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(10, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(10, Double.NaN));
+    }
+
+    @Test
+    public void testLarge() {
+        final ZipfSampler sampler = new ZipfSampler(Integer.MAX_VALUE, 1.1);
+        final Random random = new Random(0);
+        int first = 0;
+        for (int i = 0; i < 100_000; i++) {
+            final int rank = sampler.next(random);
+            Assertions.assertTrue(rank >= 0);
+            if (rank == 0) {
+                first++;
+            }
+        }
+        // P(0) = 1 / H(2^31, 1.1) ~= 0.106
+        Assertions.assertEquals(0.106, first / 100_000.0, 0.01);
+    }
+
+    @Test
+    public void testSingle() {
+        final ZipfSampler sampler = new ZipfSampler(1, 1.5);
+        final Random random = new Random(0);
+        for (int i = 0; i < 1000; i++) {
+            Assertions.assertEquals(0, sampler.next(random));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.reader;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LineParserTest {
+    private static double parseDouble(final String value) {
+        final char[] buf = value.toCharArray();
+        return LineParser.parseDouble(buf, 0, buf.length);
+    }
+
+    private static long parseLong(final String value) {
+        final char[] buf = value.toCharArray();
+        return LineParser.parseLong(buf, 0, buf.length);
+    }
+
+    @Test
+    public void testParseDouble() {
+        for (final String value : new String[] { "0", "0.0", "-0.0", "2.629", "90.483", "+1.5", ".5", "5.",
+                "0.000001", "123456789012345", "1234567890.123456789", "1e3", "-2.5E-7", "NaN",
+                "Infinity" }) {
+            Assertions.assertEquals(Double.parseDouble(value), parseDouble(value), value);
+        }
+
+        for (final String value : new String[] { "", "-", ".", "1.2.3", "abc", "1,5" }) {
+            Assertions.assertThrows(NumberFormatException.class, () -> parseDouble(value), value);
+        }
+    }
+
+    @Test
+    public void testParseLong() {
+        for (final String value : new String[] { "0", "-0", "+7", "88799", "-123456789012",
+                String.valueOf(Long.MAX_VALUE), String.valueOf(Long.MIN_VALUE) }) {
+            Assertions.assertEquals(Long.parseLong(value), parseLong(value), value);
+        }
+
+        for (final String value : new String[] { "", "-", "1.0", "12a", "9223372036854775808",
+                "-9223372036854775809" }) {
+            Assertions.assertThrows(NumberFormatException.class, () -> parseLong(value), value);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+
+public class SnapshotCompilerTest {
+    @Test
+    public void testCompile() throws IOException {
+        final Path dir = Files.createTempDirectory("snapshot");
+        try {
+            final Path text = dir.resolve("name/female");
+            Files.createDirectories(text.getParent());
+            try (InputStream in = TextReader.class.getResourceAsStream("/com/arakelian/faker/name/female")) {
+                Files.copy(in, text);
+            }
+
+            final TextReader<Object[]> expected = new TextReader<>(text.toUri().toURL(), Object[].class);
+            expected.read();
+
+            // snapshot is written next to text
+            Assertions.assertEquals(1, SnapshotCompiler.compile(dir, dir));
+            Assertions.assertTrue(Files.isRegularFile(dir.resolve("name/female" + TextReader.SNAPSHOT_EXTENSION)));
+
+            // make sure that we cannot fall back to text
+            Files.write(text, "# columns: garbage(int)\nXYZ\n".getBytes(StandardCharsets.UTF_8));
+            Files.setLastModifiedTime(text, FileTime.fromMillis(0));
+
+            final TextReader<Object[]> actual = new TextReader<>(text.toUri().toURL(), Object[].class);
+            actual.read();
+
+            Assertions.assertEquals(expected.getPropertyNames(), actual.getPropertyNames());
+            Assertions.assertEquals(expected.getProperty("source"), actual.getProperty("source"));
+            Assertions.assertArrayEquals(expected.getColumnNames(), actual.getColumnNames());
+            Assertions.assertEquals(expected.getColumn("frequency"), actual.getColumn("frequency"));
+            Assertions.assertEquals(expected.getLineCount(), actual.getLineCount());
+            Assertions.assertEquals(expected.getRowCount(), actual.getRowCount());
+            for (int row = 0; row < expected.getRowCount(); row++) {
+                Assertions.assertArrayEquals(expected.getRowAsArray(row), actual.getRowAsArray(row));
+            }
+            Assertions.assertTrue(actual.isWeighted());
+        } finally {
+            MoreFiles.deleteRecursively(dir, RecursiveDeleteOption.ALLOW_INSECURE);
+        }
+    }
+}
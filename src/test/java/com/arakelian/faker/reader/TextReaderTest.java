@@ -22,7 +22,15 @@ import static com.arakelian.faker.reader.TextReader.Type.INT;
 import static com.arakelian.faker.reader.TextReader.Type.STRING;
 
 import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
 
+import org.apache.commons.lang3.StringUtils;
 import org.immutables.value.Value;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -44,10 +52,47 @@ public class TextReaderTest {
         public Integer getRank();
     }
 
+    private static URL write(final String text) throws IOException {
+        final Path file = Files.createTempFile("text-reader", ".txt");
+        file.toFile().deleteOnExit();
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+        return file.toUri().toURL();
+    }
+
+    @Test
+    public void testDelimited() throws IOException {
+        final URL resource = write("# columns: name count(int) amount(double) total(long)\n" //
+                + "# delimiter: ,\n" //
+                + " SMITH , 12 ,0.25, 9000000000\r\n" //
+                + "\n" //
+                + "JONES,-3,1e3,-1\n" //
+                + "SMITH,,2.5");
+
+        for (final TextReader.Storage storage : TextReader.Storage.values()) {
+            final TextReader<Object[]> reader = new TextReader<>(resource, Object[].class, storage);
+            reader.read();
+
+            Assertions.assertEquals(4, reader.getColumnCount());
+            Assertions.assertEquals(6, reader.getLineCount());
+            Assertions.assertEquals(3, reader.getRowCount());
+            Assertions.assertArrayEquals(
+                    new Object[] { "SMITH", 12, 0.25, 9000000000L },
+                    reader.getRowAsArray(0));
+            Assertions.assertArrayEquals(new Object[] { "JONES", -3, 1000.0, -1L }, reader.getRowAsArray(1));
+            Assertions.assertArrayEquals(new Object[] { "SMITH", null, 2.5, null }, reader.getRowAsArray(2));
+        }
+
+        // repeated values share a single instance
+        final TextReader<Object[]> reader = new TextReader<>(resource, Object[].class);
+        reader.read();
+        Assertions.assertSame(reader.getString(0, 0), reader.getString(2, 0));
+    }
+
     @Test
     public void testFemaleNames() throws IOException {
         final TextReader<CensusData> reader = new TextReader<>("/com/arakelian/faker/name/female",
                 CensusData.class);
+        reader.setSnapshotEnabled(false);
         reader.read();
 
         // verify properties
@@ -81,4 +126,141 @@ public class TextReaderTest {
         Assertions.assertEquals(Double.valueOf(2.629), row.getCumulativeFrequency());
         Assertions.assertEquals(Integer.valueOf(1), row.getRank());
     }
+
+    @Test
+    public void testLongLines() throws IOException {
+        final String value = StringUtils.repeat('x', 100_000);
+        final TextReader<Object[]> reader = new TextReader<>(write("a\n" + value + "\nb\n"), Object[].class);
+        reader.read();
+
+        Assertions.assertEquals(3, reader.getRowCount());
+        Assertions.assertEquals("a", reader.getString(0, 0));
+        Assertions.assertEquals(value, reader.getString(1, 0));
+        Assertions.assertEquals("b", reader.getString(2, 0));
+    }
+
+    @Test
+    public void testMapped() throws IOException {
+        final URL resource = TextReader.class.getResource("/com/arakelian/faker/name/female");
+        final TextReader<CensusData> heap = new TextReader<>(resource, CensusData.class);
+        heap.setSnapshotEnabled(false);
+        heap.read();
+        final TextReader<CensusData> mapped = new TextReader<>(resource, CensusData.class,
+                TextReader.Storage.MAPPED);
+        mapped.read();
+
+        Assertions.assertEquals(heap.getProperty("source"), mapped.getProperty("source"));
+        Assertions.assertArrayEquals(heap.getColumnNames(), mapped.getColumnNames());
+        Assertions.assertEquals(heap.getLineCount(), mapped.getLineCount());
+        Assertions.assertEquals(heap.getRowCount(), mapped.getRowCount());
+        for (int row = 0, size = heap.getRowCount(); row < size; row++) {
+            Assertions.assertArrayEquals(heap.getRowAsArray(row), mapped.getRowAsArray(row));
+        }
+        Assertions.assertEquals("MARY", mapped.getRow(0).getName());
+        Assertions.assertFalse(mapped.isWeighted());
+    }
+
+    @Test
+    public void testSingleColumn() throws IOException {
+        // without columns, each line is a single value, even if it contains the delimiter
+        final TextReader<Object[]> reader = new TextReader<>(write("a\tb\n  padded \nc,d\n"), Object[].class);
+        reader.read();
+        Assertions.assertEquals(3, reader.getRowCount());
+        Assertions.assertEquals("a\tb", reader.getString(0, 0));
+        Assertions.assertEquals("  padded ", reader.getString(1, 0));
+        Assertions.assertEquals("c,d", reader.getString(2, 0));
+    }
+
+    @Test
+    public void testSnapshotDisabled() throws IOException {
+        final URL resource = write("# columns: name count(int)\nb\t2\n");
+        // snapshot header, without any content
+        final Path snapshot = Paths.get(URI.create(resource + TextReader.SNAPSHOT_EXTENSION));
+        snapshot.toFile().deleteOnExit();
+        Files.write(snapshot, new byte[] { 'F', 'K', 'R', 1 });
+
+        // a truncated snapshot is an error, unless snapshots are disabled
+        final TextReader<Object[]> reader = new TextReader<>(resource, Object[].class);
+        Assertions.assertTrue(reader.isSnapshotEnabled());
+        Assertions.assertThrows(IOException.class, reader::read);
+
+        reader.setSnapshotEnabled(false);
+        reader.read();
+        Assertions.assertArrayEquals(new Object[] { "b", 2 }, reader.getRowAsArray(0));
+    }
+
+    @Test
+    public void testSurnames() throws IOException {
+        final TextReader<Object[]> reader = new TextReader<>("/com/arakelian/faker/name/surname",
+                Object[].class);
+        reader.setSnapshotEnabled(false);
+        reader.read();
+
+        final int last = reader.getRowCount() - 1;
+        Assertions.assertEquals(88799, reader.getRowCount());
+        Assertions.assertEquals("AALDERINK", reader.getString(last, 0));
+        Assertions.assertEquals(Double.valueOf(0.0), reader.getDouble(last, 1));
+        Assertions.assertEquals(Double.valueOf(90.483), reader.getDouble(last, 2));
+        Assertions.assertEquals(Integer.valueOf(88799), reader.getInt(last, 3));
+
+        // rows are assembled from column data
+        final Object[] row = reader.getRowAsArray(last);
+        Assertions.assertArrayEquals(new Object[] { "AALDERINK", 0.0, 90.483, 88799 }, row);
+        Assertions.assertSame(row.getClass(), reader.getRow(last).getClass());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> reader.getRowAsArray(last + 1));
+    }
+
+    @Test
+    public void testTypedRows() throws IOException {
+        final TextReader<CensusData> reader = new TextReader<>("/com/arakelian/faker/name/surname",
+                CensusData.class);
+        reader.setSnapshotEnabled(false);
+        reader.read();
+
+        // rows are bound directly to the builder, without a round-trip through Jackson
+        final TextReader.Column[] columns = new TextReader.Column[reader.getColumnCount()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = reader.getColumn(i);
+        }
+        Assertions.assertNotNull(RowBinder.of(CensusData.class, columns));
+
+        for (int row = 0; row < reader.getRowCount(); row += 997) {
+            final CensusData data = reader.getRow(row);
+            Assertions.assertEquals(reader.getString(row, 0), data.getName());
+            Assertions.assertEquals(reader.getDouble(row, 1), data.getFrequency());
+            Assertions.assertEquals(reader.getDouble(row, 2), data.getCumulativeFrequency());
+            Assertions.assertEquals(reader.getInt(row, 3), data.getRank());
+
+            // rows are converted once
+            Assertions.assertSame(data, reader.getRow(row));
+        }
+    }
+
+    @Test
+    public void testWeightedSampling() throws IOException {
+        final TextReader<Object[]> reader = new TextReader<>("/com/arakelian/faker/name/surname",
+                Object[].class);
+        reader.setSnapshotEnabled(false);
+        reader.read();
+        Assertions.assertTrue(reader.isWeighted());
+
+        // SMITH accounts for about 1.1% of listed surnames
+        final Random random = new Random(0);
+        final int samples = 1_000_000;
+        int smith = 0;
+        for (int i = 0; i < samples; i++) {
+            if (reader.nextWeightedIndex(random) == 0) {
+                smith++;
+            }
+        }
+        Assertions.assertEquals(1.006 / 90.483, smith / (double) samples, 0.001);
+
+        // unweighted data falls back to uniform sampling
+        final TextReader<Object[]> lorem = new TextReader<>("/com/arakelian/faker/words/lorem", Object[].class);
+        lorem.read();
+        Assertions.assertFalse(lorem.isWeighted());
+        final int index = lorem.nextWeightedIndex(random);
+        Assertions.assertTrue(index >= 0 && index < lorem.getRowCount());
+    }
 }
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.relational;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.arakelian.faker.model.Person;
+import com.arakelian.faker.schema.FieldSource;
+import com.arakelian.faker.schema.ImmutableRecordSchema;
+import com.arakelian.faker.schema.RecordGenerator;
+import com.arakelian.faker.schema.RecordSchema;
+import com.arakelian.faker.schema.SchemaField;
+import com.arakelian.faker.service.RandomData;
+import com.arakelian.faker.service.RandomPerson;
+
+public class ForeignKeyTest {
+    private static int[] counts(final KeyDistribution distribution, final int size, final int samples) {
+        final ForeignKey foreignKey = new ForeignKey(ParentKeys.range(0, size), distribution);
+        final int[] counts = new int[size];
+        final Random random = new Random(0);
+        for (int i = 0; i < samples; i++) {
+            counts[Integer.parseInt(foreignKey.next(random))]++;
+        }
+        return counts;
+    }
+
+    @Test
+    public void testCapture() {
+        // keys are captured even by operations that could skip generating values
+        final KeyIndex counted = new KeyIndex();
+        Assertions.assertEquals(10, RandomPerson.get().capture(10, counted, Person::getId).count());
+        Assertions.assertEquals(10, counted.size());
+
+        final KeyIndex limited = new KeyIndex();
+        Assertions.assertEquals(5, RandomPerson.get().capture(100, limited, Person::getId).limit(5).count());
+        Assertions.assertEquals(5, limited.size());
+
+        // keys are added by a single thread, in stream order
+        final KeyIndex parallel = new KeyIndex();
+        final List<Person> persons = RandomPerson.get().capture(1000, parallel, Person::getId).parallel()
+                .collect(Collectors.toList());
+        Assertions.assertEquals(1000, parallel.size());
+        for (int i = 0; i < persons.size(); i++) {
+            Assertions.assertEquals(persons.get(i).getId(), parallel.get(i));
+        }
+    }
+
+    @Test
+    public void testHotSpot() {
+        final int[] counts = counts(KeyDistribution.hotSpot(0.2, 0.8), 100, 100_000);
+        int hot = 0;
+        for (int i = 0; i < 20; i++) {
+            hot += counts[i];
+        }
+        Assertions.assertEquals(0.8, hot / 100_000.0, 0.01);
+    }
+
+    @Test
+    public void testRecordGenerator() {
+        final KeyIndex people = new KeyIndex();
+        final List<Person> persons = RandomPerson.get().capture(100, people, Person::getId)
+                .collect(Collectors.toList());
+        Assertions.assertEquals(100, people.size());
+        for (int i = 0; i < persons.size(); i++) {
+            Assertions.assertEquals(persons.get(i).getId(), people.get(i));
+        }
+
+        final RecordSchema orders = ImmutableRecordSchema.builder() //
+                .name("order") //
+                .addField(SchemaField.of("personId", FieldSource.foreignKey(people, KeyDistribution.zipf(1.0)))) //
+                .addField(SchemaField.of("quantity", FieldSource.integer(1, 5))) //
+                .build();
+
+        final Set<String> ids = new HashSet<>();
+        for (int i = 0; i < people.size(); i++) {
+            ids.add(people.get(i));
+        }
+
+        final RecordGenerator<Object[]> generator = RecordGenerator.arrays(RandomData.get(), orders);
+        for (final Object[] order : generator.nextBatch(1000)) {
+            Assertions.assertTrue(ids.contains(order[0]), String.valueOf(order[0]));
+        }
+    }
+
+    @Test
+    public void testScrambled() {
+        final int[] counts = counts(KeyDistribution.zipf(1.2).scrambled(), 1000, 100_000);
+        int hottest = 0;
+        for (int i = 1; i < counts.length; i++) {
+            if (counts[i] > counts[hottest]) {
+                hottest = i;
+            }
+        }
+        Assertions.assertNotEquals(0, hottest);
+
+        // permuting positions does not change the shape of the distribution
+        final int[] expected = counts(KeyDistribution.zipf(1.2), 1000, 100_000);
+        Arrays.sort(counts);
+        Arrays.sort(expected);
+        Assertions.assertArrayEquals(expected, counts);
+    }
+
+    @Test
+    public void testUniform() {
+        final int[] counts = counts(KeyDistribution.uniform(), 10, 100_000);
+        for (final int count : counts) {
+            Assertions.assertEquals(0.1, count / 100_000.0, 0.01);
+        }
+    }
+
+    @Test
+    public void testZipf() {
+        final int[] counts = counts(KeyDistribution.zipf(1.0), 1000, 100_000);
+        for (int i = 1; i < 10; i++) {
+            Assertions.assertTrue(counts[i - 1] > counts[i], "rank " + i);
+        }
+
+        // P(0) = 1 / H(1000) ~= 0.134
+        Assertions.assertEquals(0.134, counts[0] / 100_000.0, 0.01);
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.relational;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class KeyIndexTest {
+    @Test
+    public void testAdd() {
+        final KeyIndex index = new KeyIndex(2);
+        Assertions.assertTrue(index.isEmpty());
+        for (int i = 0; i < 10_000; i++) {
+            Assertions.assertEquals(i, index.add("key-" + i));
+        }
+        Assertions.assertEquals(10_000, index.size());
+        for (int i = 0; i < 10_000; i++) {
+            Assertions.assertEquals("key-" + i, index.get(i));
+        }
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> index.get(10_000));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> index.get(-1));
+    }
+
+    @Test
+    public void testOf() {
+        final KeyIndex index = KeyIndex.of(Arrays.asList("a", "", "\u00e9t\u00e9", "\u6771\u4eac", "z"));
+        Assertions.assertEquals(5, index.size());
+        Assertions.assertEquals("a", index.get(0));
+        Assertions.assertEquals("", index.get(1));
+        Assertions.assertEquals("\u00e9t\u00e9", index.get(2));
+        Assertions.assertEquals("\u6771\u4eac", index.get(3));
+        Assertions.assertEquals("z", index.get(4));
+
+        // trimmed: 1 + 0 + 5 + 6 + 1 bytes of keys, plus 6 offsets
+        Assertions.assertEquals(48 + 13 + 6 * 4, index.getRetainedSize());
+    }
+
+    @Test
+    public void testRange() {
+        final ParentKeys keys = ParentKeys.range(1000, 3);
+        Assertions.assertEquals(3, keys.size());
+        Assertions.assertEquals("1000", keys.get(0));
+        Assertions.assertEquals("1002", keys.get(2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> keys.get(3));
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.schema;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.arakelian.faker.distribution.Distribution;
+import com.arakelian.faker.model.Gender;
+import com.arakelian.faker.model.ImmutableRandomDataConfig;
+import com.arakelian.faker.model.Person;
+import com.arakelian.faker.service.RandomData;
+
+public class RecordGeneratorTest {
+    private static final ZonedDateTime FROM = ZonedDateTime.of(1950, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private static final ZonedDateTime TO = ZonedDateTime.of(2000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private static final RecordSchema CUSTOMER = ImmutableRecordSchema.builder() //
+            .name("customer") //
+            .addField(SchemaField.of("firstName", FieldSource.dictionary("name.female"))) //
+            .addField(SchemaField.of("lastName", FieldSource.dictionary("name.surname"))) //
+            .addField(SchemaField.of("gender", FieldSource.oneOf(Gender.class))) //
+            .addField(SchemaField.of("birthdate", FieldSource.date(FROM, TO))) //
+            .addField(SchemaField.of("score", FieldSource.integer(1, 10))) //
+            .addField(SchemaField.of("balance", FieldSource.nullable(FieldSource.decimal(0, 1000), 0.5))) //
+            .addField(
+                    SchemaField.of(
+                            "email",
+                            FieldSource.<String, String> derived(
+                                    String.class,
+                                    "firstName",
+                                    "lastName",
+                                    (first, last) -> (first + "." + last + "@example.com").toLowerCase()))) //
+            .build();
+
+    private static final RecordSchema PERSON = ImmutableRecordSchema.builder() //
+            .addField(SchemaField.of("firstName", FieldSource.dictionary("name.male"))) //
+            .addField(SchemaField.of("lastName", FieldSource.dictionary("name.surname"))) //
+            .addField(SchemaField.of("gender", FieldSource.constant(Gender.MALE))) //
+            .addField(SchemaField.of("title", FieldSource.dictionary("job.title"))) //
+            .addField(SchemaField.of("comments", FieldSource.paragraphs("words.lorem", 1, 2))) //
+            .build();
+
+    @Test
+    public void testArrays() {
+        final RecordGenerator<Object[]> generator = RecordGenerator.arrays(RandomData.get(), CUSTOMER);
+        Assertions.assertEquals("customer", generator.getName());
+
+        int nulls = 0;
+        for (final Object[] row : generator.nextBatch(1000)) {
+            Assertions.assertEquals(7, row.length);
+            Assertions.assertTrue(row[0] instanceof String);
+            Assertions.assertTrue(row[2] instanceof Gender);
+            final ZonedDateTime birthdate = (ZonedDateTime) row[3];
+            Assertions.assertTrue(!birthdate.isBefore(FROM) && birthdate.isBefore(TO), birthdate.toString());
+            final int score = (Integer) row[4];
+            Assertions.assertTrue(score >= 1 && score <= 10);
+            if (row[5] == null) {
+                nulls++;
+            }
+            Assertions.assertEquals((row[0] + "." + row[1] + "@example.com").toLowerCase(), row[6]);
+        }
+        Assertions.assertTrue(nulls > 400 && nulls < 600, "nulls: " + nulls);
+    }
+
+    @Test
+    public void testBeans() {
+        final RecordGenerator<Person> generator = RecordGenerator.beans(RandomData.get(), PERSON, Person.class);
+        for (final Person person : generator.nextBatch(100)) {
+            Assertions.assertNotNull(person.getFirstName());
+            Assertions.assertNotNull(person.getLastName());
+            Assertions.assertNotNull(person.getComments());
+            Assertions.assertEquals(Gender.MALE, person.getGender());
+        }
+
+        // customer has fields that Person does not
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> RecordGenerator.beans(RandomData.get(), CUSTOMER, Person.class));
+    }
+
+    @Test
+    public void testInvalidSchema() {
+        // fields may only refer to fields declared before them
+        final RecordSchema forward = ImmutableRecordSchema.builder() //
+                .addField(
+                        SchemaField.of("upper", FieldSource.<String> derived(String.class, "name", String::toUpperCase))) //
+                .addField(SchemaField.of("name", FieldSource.dictionary("name.male"))) //
+                .build();
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> RecordGenerator.arrays(RandomData.get(), forward));
+
+        Assertions.assertThrows(
+                IllegalStateException.class,
+                () -> ImmutableRecordSchema.builder() //
+                        .addField(SchemaField.of("name", FieldSource.dictionary("name.male"))) //
+                        .addField(SchemaField.of("name", FieldSource.dictionary("name.female"))) //
+                        .build());
+    }
+
+    @Test
+    public void testGaussian() {
+        final RecordSchema schema = ImmutableRecordSchema.builder() //
+                .addField(SchemaField.of("height", FieldSource.decimal(Distribution.normal(170, 10)))) //
+                .addField(SchemaField.of("score", FieldSource.integer(1, 10))) //
+                .build();
+        final RandomData randomData = new RandomData(ImmutableRandomDataConfig.builder().seed(42L).build());
+        final RecordGenerator<Object[]> generator = RecordGenerator.arrays(randomData, schema);
+
+        // a single generator is reused for the whole batch, which must not carry state across records
+        final List<Object[]> batch = generator.nextBatch(100);
+        for (int i = 0; i < batch.size(); i++) {
+            Assertions.assertArrayEquals(generator.next(i), batch.get(i), "record " + i);
+        }
+    }
+
+    @Test
+    public void testMaps() {
+        final RandomData randomData = new RandomData(ImmutableRandomDataConfig.builder().seed(42L).build());
+        final RecordGenerator<Map<String, Object>> generator = RecordGenerator.maps(randomData, CUSTOMER);
+
+        final List<Map<String, Object>> batch = generator.nextBatch(100);
+        for (int i = 0; i < batch.size(); i++) {
+            final Map<String, Object> map = batch.get(i);
+            Assertions.assertArrayEquals(
+                    new String[] { "firstName", "lastName", "gender", "birthdate", "score", "balance", "email" },
+                    map.keySet().toArray(new String[0]));
+
+            // seeded records are reproducible by index
+            Assertions.assertEquals(map, generator.next(i));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.service;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.arakelian.faker.model.ImmutableRandomDataConfig;
+
+public class GeoIndexTest {
+    private static int count(final GeoIndex.Region region, final String city, final int samples) {
+        final GeoIndex geo = region.getIndex();
+        final Random random = new Random(0);
+        int count = 0;
+        for (int i = 0; i < samples; i++) {
+            if (city.equals(geo.getCity(region.next(random)))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void testHierarchy() {
+        final GeoIndex geo = RandomData.get().getGeoIndex();
+        Assertions.assertTrue(geo.getStates().contains("CA"));
+        Assertions.assertTrue(geo.getCities("CA").contains("SAN FRANCISCO"));
+        Assertions.assertTrue(geo.getCities("XX").isEmpty());
+
+        int total = 0;
+        for (final String state : geo.getStates()) {
+            final GeoIndex.Region region = geo.region(state);
+            int cities = 0;
+            for (final String city : geo.getCities(state)) {
+                cities += geo.region(state, city).size();
+            }
+            Assertions.assertEquals(region.size(), cities);
+            total += region.size();
+        }
+        Assertions.assertEquals(geo.size(), total);
+        Assertions.assertEquals(geo.size(), geo.region().size());
+    }
+
+    @Test
+    public void testWeighted() {
+        final GeoIndex weighted = new RandomData(ImmutableRandomDataConfig.builder().weighted(true).build())
+                .getGeoIndex();
+        Assertions.assertTrue(weighted.isWeighted());
+        final GeoIndex uniform = new RandomData(ImmutableRandomDataConfig.builder().weighted(false).build())
+                .getGeoIndex();
+        Assertions.assertFalse(uniform.isWeighted());
+
+        // New York is about twenty times as populous as Minneapolis, but has a similar number of
+        // postal codes in the bundled dataset
+        final int samples = 100_000;
+        final double weightedRatio = (double) count(weighted.region(), "NEW YORK", samples)
+                / count(weighted.region(), "MINNEAPOLIS", samples);
+        final double uniformRatio = (double) count(uniform.region(), "NEW YORK", samples)
+                / count(uniform.region(), "MINNEAPOLIS", samples);
+        Assertions.assertTrue(weightedRatio > 15, "weighted ratio: " + weightedRatio);
+        Assertions.assertTrue(uniformRatio < 3, "uniform ratio: " + uniformRatio);
+    }
+}
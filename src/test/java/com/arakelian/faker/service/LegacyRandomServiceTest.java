@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.service;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LegacyRandomServiceTest {
+    /**
+     * Service written against the original API, which only implements {@link #next()}.
+     */
+    private static final class LegacyService extends LegacyRandomService<Integer> {
+        private int count;
+
+        @Override
+        public Integer next() {
+            return count++;
+        }
+    }
+
+    @Test
+    public void testLegacy() {
+        final LegacyService service = new LegacyService();
+        Assertions.assertSame(RandomData.get(), service.getRandomData());
+        Assertions.assertEquals(List.of(0, 1, 2), service.listOf(3));
+        Assertions.assertEquals(3, service.next(new Random(0)).intValue());
+        Assertions.assertEquals(List.of(4, 5), service.nextBatch(2));
+        Assertions.assertEquals(List.of(6, 7, 8), service.stream(3).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.arakelian.faker.model.ImmutablePacingConfig;
+import com.arakelian.faker.model.PacingConfig;
+import com.arakelian.faker.model.Person;
+import com.google.common.base.Ticker;
+
+public class PacedGeneratorTest {
+    /** Fake clock, which advances only when the generator sleeps or the test says so **/
+    private final AtomicLong now = new AtomicLong();
+
+    private PacedGenerator<Person> paced(final PacingConfig config) {
+        final Ticker ticker = new Ticker() {
+            @Override
+            public long read() {
+                return now.get();
+            }
+        };
+        return new PacedGenerator<>(RandomPerson.get(), config, ticker, now::addAndGet);
+    }
+
+    @Test
+    public void testLag() {
+        final PacedGenerator<Person> paced = paced(ImmutablePacingConfig.builder().rate(100).build());
+        assertNotNull(paced.next());
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        // with a burst size of one, the late caller does not get to catch up
+        assertNotNull(paced.next());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), now.get());
+        assertNotNull(paced.next());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(110), now.get());
+
+        assertEquals(3, paced.getCount());
+        assertEquals(1, paced.getLateCount());
+        assertEquals(Duration.ofMillis(90), paced.getMaxLag());
+    }
+
+    @Test
+    public void testRampUp() {
+        final PacedGenerator<Person> paced = paced(
+                ImmutablePacingConfig.builder().rate(100).rampUp(Duration.ofSeconds(10)).build());
+
+        // 500 records are released during the 10 second ramp, at an increasing rate
+        assertEquals(0, paced.offsetOf(0));
+        assertTrue(Math.abs(TimeUnit.SECONDS.toNanos(5) - paced.offsetOf(125)) <= 1000L);
+        assertTrue(Math.abs(TimeUnit.SECONDS.toNanos(10) - paced.offsetOf(500)) <= 1000L);
+        assertTrue(Math.abs(TimeUnit.SECONDS.toNanos(11) - paced.offsetOf(600)) <= 1000L);
+    }
+
+    @Test
+    public void testRate() {
+        final PacedGenerator<Person> paced = paced(ImmutablePacingConfig.builder().rate(2000).build());
+        for (int i = 0; i < 200; i++) {
+            paced.next();
+        }
+
+        // 200 records at 2000/s are released over 199 intervals of 0.5ms
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(99_500), now.get());
+        assertEquals(0, paced.getLateCount());
+        assertEquals(200 / 0.0995, paced.getAchievedRate(), 1e-6);
+    }
+}
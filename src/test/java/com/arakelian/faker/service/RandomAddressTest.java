@@ -17,17 +17,63 @@
 
 package com.arakelian.faker.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 
 import com.arakelian.core.utils.SerializableTestUtils;
 import com.arakelian.faker.model.Address;
+import com.arakelian.faker.model.ImmutableAddress;
+import com.arakelian.faker.model.ImmutableRandomDataConfig;
 import com.arakelian.jackson.utils.JacksonTestUtils;
+import com.arakelian.jackson.utils.JacksonUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 public class RandomAddressTest {
+    @Test
+    public void testAt() {
+        final RandomData randomData = new RandomData(ImmutableRandomDataConfig.builder().seed(42L).build());
+        final RandomAddress texas = new RandomAddress(randomData).in("TX");
+        final GeoIndex geo = randomData.getGeoIndex();
+
+        for (long index = 0; index < 100; index++) {
+            final Address address = texas.at(index * 1_000_003L);
+            final Address again = new RandomAddress(randomData).in("TX").at(index * 1_000_003L);
+            assertEquals(address.getStreet(), again.getStreet());
+            assertEquals(address.getPostalCode(), again.getPostalCode());
+            assertEquals(address.getId(), again.getId());
+
+            // state, city and postal code are consistent with each other
+            assertEquals("TX", address.getState());
+            assertTrue(geo.getCities("TX").contains(address.getCity()));
+        }
+    }
+
+    @Test
+    public void testAtJackson() throws IOException {
+        final RandomData randomData = new RandomData(ImmutableRandomDataConfig.builder().seed(42L).build());
+        final Address address = new RandomAddress(randomData).at(12_345L);
+
+        final ObjectMapper mapper = JacksonUtils.getObjectMapper();
+        final Address copy = mapper.readValue(mapper.writeValueAsString(address), Address.class);
+        assertTrue(copy instanceof ImmutableAddress);
+        assertEquals(address.getStreet(), copy.getStreet());
+        assertEquals(address.getCity(), copy.getCity());
+        assertEquals(address.getPostalCode(), copy.getPostalCode());
+        assertEquals(address.getId(), copy.getId());
+        assertEquals(RandomAddress.get().next().getId().length(), address.getId().length());
+    }
+
     @Test
     public void testJackson() throws IOException {
         for (int i = 0; i < 10; i++) {
@@ -36,6 +82,34 @@ public class RandomAddressTest {
         }
     }
 
+    @Test
+    public void testRegion() {
+        final Random random = new Random(0);
+
+        final RandomAddress texas = RandomAddress.get().in("TX");
+        for (int i = 0; i < 100; i++) {
+            assertEquals("TX", texas.next(random).getState());
+        }
+
+        // streets are consistently paired with postal codes
+        final Map<String, Set<String>> streets = Maps.newHashMap();
+        final RandomAddress sf = RandomAddress.get().in("CA", "SAN FRANCISCO");
+        for (int i = 0; i < 1000; i++) {
+            final Address address = sf.next(random);
+            assertEquals("CA", address.getState());
+            assertEquals("SAN FRANCISCO", address.getCity());
+            assertTrue(address.getPostalCode().startsWith("94"), address.getPostalCode());
+            final String street = address.getStreet().substring(address.getStreet().indexOf(' ') + 1);
+            streets.computeIfAbsent(address.getPostalCode(), zip -> Sets.newHashSet()).add(street);
+        }
+        for (final Set<String> names : streets.values()) {
+            assertTrue(names.size() <= GeoIndex.STREETS_PER_POSTAL_CODE);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> RandomAddress.get().in("XX"));
+        assertThrows(IllegalArgumentException.class, () -> RandomAddress.get().in("CA", "CHICAGO"));
+    }
+
     @Test
     public void testSerializable() {
         for (int i = 0; i < 10; i++) {
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+import com.arakelian.faker.distribution.DateDistribution;
+import com.arakelian.faker.distribution.Distribution;
+import com.arakelian.faker.model.ImmutableRandomDataConfig;
+import com.arakelian.faker.service.RandomData.Capitalization;
+
+public class RandomDataTest {
+    @Test
+    public void testAppendParagraphs() {
+        final RandomData randomData = RandomData.get();
+        final String expected = randomData.nextParagraphs("words.lorem", 2, 2, new Random(0));
+
+        final StringBuilder buf = new StringBuilder("prefix:");
+        assertSame(buf, randomData.appendParagraphs(buf, "words.lorem", 2, 2, new Random(0)));
+        assertEquals("prefix:" + expected, buf.toString());
+
+        // two paragraphs, each consisting of sentences
+        final String[] paragraphs = expected.split("\n");
+        assertEquals(2, paragraphs.length);
+        for (final String paragraph : paragraphs) {
+            assertTrue(Character.isUpperCase(paragraph.charAt(0)), paragraph);
+            assertTrue(paragraph.endsWith("."), paragraph);
+        }
+    }
+
+    @Test
+    public void testDictionary() {
+        final RandomData randomData = RandomData.get();
+        final Dictionary<Object[]> surname = randomData.dictionary("name.surname");
+        assertSame(surname, randomData.dictionary("name.surname"));
+        assertSame(surname.getReader(), randomData.get("name.surname"));
+
+        // handles draw the same values as name-based methods
+        assertEquals(randomData.nextString("name.surname", new Random(0)), surname.nextString(new Random(0)));
+        assertArrayEquals(randomData.next("name.surname", new Random(0)), surname.next(new Random(0)));
+
+        final String[] strings = surname.fillStrings(new String[10], new Random(0));
+        final int[] indexes = surname.fillIndexes(new int[10], new Random(0));
+        for (int i = 0; i < 10; i++) {
+            assertEquals(surname.getReader().getString(indexes[i], 0), strings[i]);
+        }
+    }
+
+    @Test
+    public void testDistributions() {
+        final ZonedDateTime asOf = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        final RandomData randomData = new RandomData(ImmutableRandomDataConfig.builder() //
+                .asOf(asOf) //
+                .weighted(true) //
+                .putDistribution("salary", Distribution.logNormal(11, 0.5)) //
+                .putDateDistribution("order", DateDistribution.uniform(asOf.minusDays(30), asOf)) //
+                .build());
+
+        final Random random = new Random(0);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(randomData.nextDouble("salary", random) > 0);
+
+            final ZonedDateTime order = randomData.nextDate("order", random);
+            assertTrue(order.isBefore(asOf) && order.isAfter(asOf.minusDays(31)), order.toString());
+
+            final ZonedDateTime birthday = randomData.nextDate("birthday", random);
+            assertTrue(!birthday.isBefore(randomData.getConfig().getFromBirthday()), birthday.toString());
+            assertTrue(!birthday.isAfter(randomData.getConfig().getToBirthday()), birthday.toString());
+        }
+
+        assertEquals(
+                randomData.nextDate("order", new Random(1)).toLocalDate().toEpochDay(),
+                randomData.nextEpochDay("order", new Random(1)));
+        assertThrows(IllegalArgumentException.class, () -> randomData.nextDouble("unknown", random));
+    }
+
+    @Test
+    public void testNextWord() {
+        final RandomData randomData = RandomData.get();
+        final String lower = randomData.nextWord("name.surname", Capitalization.LOWER, new Random(0));
+        final String upper = randomData.nextWord("name.surname", Capitalization.UPPER, new Random(0));
+        final String title = randomData.nextWord("name.surname", Capitalization.TITLE, new Random(0));
+
+        assertEquals(upper.toLowerCase(), lower);
+        assertEquals(upper.substring(0, 1) + upper.substring(1).toLowerCase(), title);
+
+        // variants are computed once
+        assertSame(upper, randomData.nextWord("name.surname", Capitalization.UPPER, new Random(0)));
+    }
+
+    @Test
+    public void testPreload() throws InterruptedException, ExecutionException {
+        final RandomData randomData = new RandomData(ImmutableRandomDataConfig.builder().build());
+        assertFalse(randomData.isLoaded("name.surname"));
+        assertFalse(randomData.isTextLoaded(RandomPerson.COMMENTS));
+        assertFalse(randomData.isGeoIndexBuilt());
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            randomData.preload(executor).get();
+        } finally {
+            executor.shutdown();
+        }
+
+        for (final String name : RandomData.DICTIONARIES) {
+            assertTrue(randomData.isLoaded(name), name);
+        }
+        assertTrue(randomData.isTextLoaded(RandomPerson.COMMENTS));
+        assertTrue(randomData.isGeoIndexBuilt());
+    }
+}
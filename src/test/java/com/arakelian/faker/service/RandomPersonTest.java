@@ -17,17 +17,141 @@
 
 package com.arakelian.faker.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 
 import com.arakelian.core.utils.SerializableTestUtils;
+import com.arakelian.faker.id.IdStrategy;
+import com.arakelian.faker.model.ImmutablePerson;
+import com.arakelian.faker.model.ImmutableRandomDataConfig;
 import com.arakelian.faker.model.Person;
 import com.arakelian.jackson.utils.JacksonTestUtils;
+import com.arakelian.jackson.utils.JacksonUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 public class RandomPersonTest {
+    private void assertSamePerson(final Person expected, final Person actual) {
+        assertEquals(expected.getFirstName(), actual.getFirstName());
+        assertEquals(expected.getLastName(), actual.getLastName());
+        assertEquals(expected.getGender(), actual.getGender());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getBirthdate(), actual.getBirthdate());
+        assertEquals(expected.getComments(), actual.getComments());
+    }
+
+    @Test
+    public void testAge() {
+        final Random random = new Random(0);
+        final ZonedDateTime asOf = ZonedDateTime.of(2024, 2, 29, 12, 0, 0, 0, ZoneOffset.UTC);
+        for (int i = 0; i < 10_000; i++) {
+            final ZonedDateTime birthdate = asOf.minusSeconds((long) (random.nextDouble() * 100 * 365 * 86400));
+            assertEquals(ChronoUnit.YEARS.between(birthdate, asOf), RandomPerson.age(birthdate, asOf));
+        }
+
+        final ZonedDateTime birthday = ZonedDateTime.of(2024, 3, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+        assertEquals(30, RandomPerson.age(birthday.minusYears(30), birthday));
+        assertEquals(29, RandomPerson.age(birthday.minusYears(30).plusSeconds(1), birthday));
+    }
+
+    @Test
+    public void testAsOf() {
+        final ZonedDateTime asOf = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        final RandomData randomData = new RandomData(ImmutableRandomDataConfig.builder() //
+                .seed(42L) //
+                .asOf(asOf) //
+                .idStrategy(IdStrategy.SEEDED) //
+                .build());
+        final RandomPerson first = new RandomPerson(randomData);
+        final RandomPerson second = new RandomPerson(randomData);
+
+        for (int i = 0; i < 100; i++) {
+            // with a fixed clock and seeded ids, records are fully reproducible
+            final Person person = first.next(i);
+            assertEquals(person, second.next(i));
+            assertEquals(asOf, person.getCreated());
+            assertEquals(asOf, person.getUpdated());
+            assertEquals(ChronoUnit.YEARS.between(person.getBirthdate(), asOf), person.getAge().longValue());
+
+            final Person view = first.at(i);
+            assertEquals(asOf, view.getCreated());
+            assertEquals(ChronoUnit.YEARS.between(view.getBirthdate(), asOf), view.getAge().longValue());
+        }
+    }
+
+    @Test
+    public void testAt() throws IOException, ClassNotFoundException {
+        final RandomData randomData = new RandomData(ImmutableRandomDataConfig.builder().seed(42L).build());
+        final RandomPerson first = new RandomPerson(randomData);
+        final RandomPerson second = new RandomPerson(randomData);
+
+        // views depend only on seed and index, and are stable across accesses
+        final Person person = first.at(734_221_009L);
+        assertSamePerson(person, second.at(734_221_009L));
+        assertSamePerson(person, person);
+        assertEquals(person.getId(), second.at(734_221_009L).getId());
+        assertNotEquals(person.getId(), first.at(734_221_010L).getId());
+
+        // views of different seeds differ
+        final RandomData other = new RandomData(ImmutableRandomDataConfig.builder().seed(43L).build());
+        assertNotEquals(person.getId(), new RandomPerson(other).at(734_221_009L).getId());
+
+        // views serialize as immutable copies
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(person);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            final Object copy = in.readObject();
+            assertTrue(copy instanceof ImmutablePerson);
+            assertSamePerson(person, (Person) copy);
+            assertEquals(person.getId(), ((Person) copy).getId());
+        }
+    }
+
+    @Test
+    public void testAtJackson() throws IOException {
+        final RandomData randomData = new RandomData(ImmutableRandomDataConfig.builder().seed(42L).build());
+        final Person person = new RandomPerson(randomData).at(12_345L);
+
+        // views serialize as immutable copies, with ids in the same format as other records
+        final ObjectMapper mapper = JacksonUtils.getObjectMapper();
+        final Person copy = mapper.readValue(mapper.writeValueAsString(person), Person.class);
+        assertTrue(copy instanceof ImmutablePerson);
+        assertSamePerson(person, copy);
+        assertEquals(person.getId(), copy.getId());
+        assertEquals(RandomPerson.get().next().getId().length(), person.getId().length());
+    }
+
+    @Test
+    public void testCommentsCorpus() {
+        final RandomData randomData = new RandomData(ImmutableRandomDataConfig.builder() //
+                .seed(42L) //
+                .commentsCorpus("text.test-comments") //
+                .build());
+        final RandomPerson randomPerson = new RandomPerson(randomData);
+        for (final Person person : randomPerson.nextBatch(100)) {
+            assertTrue(person.getComments().matches("[A-Z][A-Za-z !.]*[!.]"), person.getComments());
+            assertTrue(person.getComments().toLowerCase().contains("zebras"), person.getComments());
+        }
+        assertTrue(randomPerson.at(0).getComments().toLowerCase().contains("zebras"));
+    }
+
     @Test
     public void testJackson() throws IOException {
         for (int i = 0; i < 10; i++) {
@@ -36,6 +160,51 @@ public class RandomPersonTest {
         }
     }
 
+    @Test
+    public void testNextBatch() {
+        final RandomData randomData = new RandomData(ImmutableRandomDataConfig.builder().seed(42L).build());
+        final RandomPerson person = new RandomPerson(randomData);
+
+        final List<Person> batch = person.nextBatch(100);
+        final Person[] filled = person.fill(new Person[100]);
+        assertEquals(100, batch.size());
+        for (int i = 0; i < 100; i++) {
+            // batches consume the same indexes, and yield the same values, as next()
+            assertSamePerson(person.next(i), batch.get(i));
+            assertSamePerson(person.next(100 + i), filled[i]);
+        }
+        assertSamePerson(person.next(200), person.next());
+    }
+
+    @Test
+    public void testParallelStream() {
+        final RandomData randomData = new RandomData(ImmutableRandomDataConfig.builder().seed(42L).build());
+
+        final List<Person> sequential = new RandomPerson(randomData).stream(500)
+                .collect(Collectors.toList());
+        final List<Person> parallel = new RandomPerson(randomData).parallelStream(500)
+                .collect(Collectors.toList());
+
+        assertEquals(500, parallel.size());
+        for (int i = 0; i < 500; i++) {
+            assertSamePerson(sequential.get(i), parallel.get(i));
+        }
+    }
+
+    @Test
+    public void testSeeded() {
+        final RandomData randomData = new RandomData(ImmutableRandomDataConfig.builder().seed(42L).build());
+        final RandomPerson first = new RandomPerson(randomData);
+        final RandomPerson second = new RandomPerson(randomData);
+
+        for (int i = 0; i < 10; i++) {
+            // sequential generation is reproducible, and matches random access by index
+            final Person expected = first.next();
+            assertSamePerson(expected, second.next());
+            assertSamePerson(expected, second.next(i));
+        }
+    }
+
     @Test
     public void testSerializable() {
         for (int i = 0; i < 10; i++) {
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.arakelian.faker.model.ImmutableRandomDataConfig;
+import com.arakelian.faker.model.Person;
+
+public class RecordPublisherTest {
+    private static class TestSubscriber implements Flow.Subscriber<Person> {
+        final List<Person> values = new CopyOnWriteArrayList<>();
+
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        private final AtomicLong outstanding = new AtomicLong();
+
+        private final long initial;
+
+        volatile Flow.Subscription subscription;
+
+        private volatile Throwable error;
+
+        private volatile boolean completed;
+
+        private TestSubscriber(final long initial) {
+            this.initial = initial;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            done.countDown();
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onNext(final Person item) {
+            assertTrue(outstanding.decrementAndGet() >= 0, "publisher exceeded demand");
+            values.add(item);
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initial != 0) {
+                request(initial);
+            }
+        }
+
+        void request(final long n) {
+            outstanding.addAndGet(n);
+            subscription.request(n);
+        }
+    }
+
+    @Test
+    public void testBackpressure() throws InterruptedException {
+        final RandomData randomData = new RandomData(ImmutableRandomDataConfig.builder().seed(42L).build());
+        final RandomPerson person = new RandomPerson(randomData);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final TestSubscriber subscriber = new TestSubscriber(1) {
+                @Override
+                public void onNext(final Person item) {
+                    super.onNext(item);
+                    request(1);
+                }
+            };
+            person.publisher(1000, executor).subscribe(subscriber);
+            assertTrue(subscriber.done.await(30, TimeUnit.SECONDS));
+
+            assertNull(subscriber.error);
+            assertTrue(subscriber.completed);
+            assertEquals(1000, subscriber.values.size());
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(person.next(i).getLastName(), subscriber.values.get(i).getLastName());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testCancel() {
+        final TestSubscriber subscriber = new TestSubscriber(10) {
+            @Override
+            public void onNext(final Person item) {
+                super.onNext(item);
+                if (values.size() == 5) {
+                    subscription.cancel();
+                }
+            }
+        };
+        RandomPerson.get().publisher(100, Runnable::run).subscribe(subscriber);
+
+        assertEquals(5, subscriber.values.size());
+        assertFalse(subscriber.completed);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    public void testEmpty() {
+        final TestSubscriber subscriber = new TestSubscriber(0);
+        RandomPerson.get().publisher(0, Runnable::run).subscribe(subscriber);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    public void testInvalidRequest() {
+        final TestSubscriber subscriber = new TestSubscriber(0);
+        RandomPerson.get().publisher(10, Runnable::run).subscribe(subscriber);
+        subscriber.subscription.request(0);
+
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertTrue(subscriber.values.isEmpty());
+    }
+
+    @Test
+    public void testNoDemand() {
+        final TestSubscriber subscriber = new TestSubscriber(3);
+        RandomPerson.get().publisher(10, Runnable::run).subscribe(subscriber);
+
+        // nothing is generated beyond what was requested
+        assertEquals(3, subscriber.values.size());
+        assertFalse(subscriber.completed);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.service;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.arakelian.faker.model.Address;
+import com.arakelian.faker.model.Person;
+import com.google.common.collect.Sets;
+
+public class UniqueRandomServiceTest {
+    @Test
+    public void testCapacity() {
+        final RandomAddress sf = RandomAddress.get().in("CA", "SAN FRANCISCO");
+        final int capacity = sf.getRandomData().getGeoIndex().region("CA", "SAN FRANCISCO").size();
+        final UniqueRandomService<Address> unique = sf
+                .unique(address -> UniqueRandomService.hash(address.getPostalCode()), capacity);
+
+        final Set<String> postalCodes = Sets.newHashSet();
+        final Random random = new Random(0);
+        for (int i = 0; i < capacity; i++) {
+            Assertions.assertFalse(unique.isExhausted());
+            Assertions.assertTrue(postalCodes.add(unique.next(random).getPostalCode()));
+        }
+        Assertions.assertTrue(unique.isExhausted());
+        Assertions.assertThrows(NoSuchElementException.class, () -> unique.next(random));
+
+        unique.reset();
+        Assertions.assertEquals(0, unique.size());
+        Assertions.assertNotNull(unique.next(random));
+    }
+
+    @Test
+    public void testExhausted() {
+        // without a capacity, exhaustion is detected by consecutive duplicates
+        final UniqueRandomService<Address> unique = RandomAddress.get()
+                .in("CA", "SAN FRANCISCO")
+                .unique(address -> UniqueRandomService.hash(address.getState()));
+        final Random random = new Random(0);
+        Assertions.assertEquals("CA", unique.next(random).getState());
+        final NoSuchElementException e = Assertions
+                .assertThrows(NoSuchElementException.class, () -> unique.next(random));
+        Assertions.assertTrue(e.getMessage().contains("after 1 value(s)"), e.getMessage());
+        Assertions.assertFalse(unique.isExhausted());
+    }
+
+    @Test
+    public void testPeople() {
+        final UniqueRandomService<Person> unique = RandomPerson.get().unique(RandomPerson.NAME_AND_BIRTHDATE);
+        final Set<String> seen = Sets.newHashSet();
+        for (final Person person : unique.nextBatch(10_000)) {
+            Assertions.assertTrue(
+                    seen.add(person.getFirstName() + "|" + person.getLastName() + "|" + person.getBirthdate()));
+        }
+        Assertions.assertEquals(10_000, unique.size());
+
+        // uniqueness spans every method of generation
+        unique.stream(1000).forEach(person -> Assertions.assertTrue(
+                seen.add(person.getFirstName() + "|" + person.getLastName() + "|" + person.getBirthdate())));
+        Assertions.assertEquals(11_000, unique.size());
+    }
+}
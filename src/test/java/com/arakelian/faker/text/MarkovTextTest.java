@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.text;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.arakelian.faker.service.RandomData;
+import com.arakelian.faker.service.RandomPerson;
+
+public class MarkovTextTest {
+    private static final String CORPUS = "The cat sat on the mat. The dog sat on the log!  "
+            + "Did the cat see the dog?  The dog didn't, so the cat slept on the mat.";
+
+    @Test
+    public void testComments() {
+        final MarkovText text = RandomData.get().text(RandomPerson.COMMENTS);
+        Assertions.assertEquals(MarkovText.DEFAULT_ORDER, text.getOrder());
+        Assertions.assertSame(text, RandomData.get().text(RandomPerson.COMMENTS));
+
+        // the bundled corpus is small; see RandomDataConfig.getCommentsCorpus()
+        Assertions.assertTrue(text.getVocabularySize() >= 650, text.toString());
+        Assertions.assertTrue(text.getTransitionCount() >= 2000, text.toString());
+
+        // common words should dominate, as in real text
+        final Map<String, Integer> counts = new HashMap<>();
+        final StringBuilder buf = new StringBuilder();
+        final Random random = new Random(0);
+        for (int i = 0; i < 1000; i++) {
+            text.appendSentence(buf, random).append(' ');
+        }
+        final Set<String> bigrams = new HashSet<>();
+        final String[] words = buf.toString().toLowerCase().split("[^a-z']+");
+        for (int i = 0; i < words.length; i++) {
+            counts.merge(words[i], 1, Integer::sum);
+            if (i != 0) {
+                bigrams.add(words[i - 1] + " " + words[i]);
+            }
+        }
+        Assertions.assertTrue(counts.get("the") > counts.get("warranty") * 10, counts.toString());
+
+        // generated text uses most of the vocabulary and word pairs of the corpus
+        Assertions.assertTrue(counts.size() >= 600, Integer.toString(counts.size()));
+        Assertions.assertTrue(bigrams.size() >= 2000, Integer.toString(bigrams.size()));
+    }
+
+    @Test
+    public void testInvalid() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MarkovText.train(new StringReader("a"), 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MarkovText.train(new StringReader("a"), 4));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MarkovText.train(new StringReader(". ,"), 1));
+    }
+
+    @Test
+    public void testParagraphs() throws IOException {
+        final MarkovText text = MarkovText.train(new StringReader(CORPUS), 2);
+        final StringBuilder buf = new StringBuilder("prefix:");
+        text.appendParagraphs(buf, 3, 3, new Random(0));
+        Assertions.assertTrue(buf.toString().startsWith("prefix:"));
+        Assertions.assertEquals(3, buf.toString().split("\n").length);
+        Assertions.assertEquals(
+                text.nextParagraphs(1, 2, new Random(1)),
+                text.appendParagraphs(new StringBuilder(), 1, 2, new Random(1)).toString());
+    }
+
+    @Test
+    public void testSentences() throws IOException {
+        final MarkovText text = MarkovText.train(new StringReader(CORPUS), 1);
+        Assertions.assertEquals(1, text.getOrder());
+
+        // case is preserved: The, the, cat, sat, on, mat, dog, log, Did, see, didn't, so, slept, . ! ? ,
+        Assertions.assertEquals(17, text.getVocabularySize());
+
+        final Set<String> bigrams = new HashSet<>();
+        final String[] words = CORPUS.toLowerCase().replaceAll("([.!?,])", " $1").split("\\s+");
+        for (int i = 1; i < words.length; i++) {
+            bigrams.add(words[i - 1] + " " + words[i]);
+        }
+
+        final Random random = new Random(0);
+        for (int i = 0; i < 1000; i++) {
+            final String sentence = text.appendSentence(new StringBuilder(), random).toString();
+            Assertions.assertTrue(Character.isUpperCase(sentence.charAt(0)), sentence);
+            Assertions.assertTrue(sentence.matches("[A-Z][a-z' ,]*[.!?]"), sentence);
+
+            // every pair of adjacent tokens appears in the corpus
+            final String[] tokens = sentence.toLowerCase().replaceAll("([.!?,])", " $1").split("\\s+");
+            for (int t = 1; t < tokens.length; t++) {
+                Assertions.assertTrue(bigrams.contains(tokens[t - 1] + " " + tokens[t]), sentence);
+            }
+        }
+    }
+
+    @Test
+    public void testUnterminated() throws IOException {
+        final MarkovText text = MarkovText.train(new StringReader("round and round and round"), 1);
+        final Random random = new Random(0);
+        for (int i = 0; i < 100; i++) {
+            final String sentence = text.appendSentence(new StringBuilder(), random).toString();
+            Assertions.assertTrue(sentence.startsWith("Round"), sentence);
+            Assertions.assertTrue(sentence.endsWith("."), sentence);
+        }
+    }
+}
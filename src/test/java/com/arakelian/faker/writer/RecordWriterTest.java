@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.arakelian.faker.writer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.arakelian.faker.model.Address;
+import com.arakelian.faker.model.ImmutableAddress;
+import com.arakelian.faker.model.ImmutablePerson;
+import com.arakelian.faker.model.Person;
+import com.arakelian.faker.service.RandomPerson;
+import com.arakelian.faker.writer.RecordWriter.Format;
+import com.arakelian.jackson.utils.JacksonUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableMap;
+
+public class RecordWriterTest {
+    /**
+     * Splits a CSV line into values, unquoting quoted values; empty values are returned as null.
+     */
+    private static List<String> parseCsv(final String line) {
+        final List<String> values = new ArrayList<>();
+        final StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        boolean empty = true;
+        for (int i = 0; i < line.length(); i++) {
+            final char ch = line.charAt(i);
+            if (quoted) {
+                if (ch == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (ch == '"') {
+                    quoted = false;
+                } else {
+                    value.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+                empty = false;
+            } else if (ch == ',') {
+                values.add(empty && value.length() == 0 ? null : value.toString());
+                value.setLength(0);
+                empty = true;
+            } else {
+                value.append(ch);
+            }
+        }
+        values.add(empty && value.length() == 0 ? null : value.toString());
+        return values;
+    }
+
+    @Test
+    public void testCsv() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (RecordWriter<Address> writer = new RecordWriter<>(out, Format.CSV)) {
+            writer.write(ImmutableAddress.builder() //
+                    .id("1") //
+                    .street("1 MAIN ST, APT \"A\"") //
+                    .city("SAN FRANCISCO") //
+                    .state("CA") //
+                    .postalCode("94105") //
+                    .build());
+        }
+
+        final String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertEquals(2, lines.length);
+        Assertions.assertTrue(lines[0].startsWith("id,street,city,state,postalCode"), lines[0]);
+        Assertions.assertTrue(lines[1].startsWith("1,\"1 MAIN ST, APT \"\"A\"\"\",SAN FRANCISCO,CA,94105"), lines[1]);
+    }
+
+    @Test
+    public void testCsvColumns() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (RecordWriter<Person> writer = new RecordWriter<>(out, Format.CSV)) {
+            // columns come from the class, so a property that the first record omits is kept
+            writer.write(ImmutablePerson.builder().id("1").firstName("JANE").lastName("DOE").build());
+            writer.write(ImmutablePerson.builder().id("2").firstName("JOHN").lastName("DOE").title("CLERK").build());
+        }
+
+        final String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertEquals(3, lines.length);
+        final int title = parseCsv(lines[0]).indexOf("title");
+        Assertions.assertTrue(title != -1, lines[0]);
+        Assertions.assertNull(parseCsv(lines[1]).get(title), lines[1]);
+        Assertions.assertEquals("CLERK", parseCsv(lines[2]).get(title), lines[2]);
+    }
+
+    @Test
+    public void testCsvUnknownColumn() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (RecordWriter<Map<String, String>> writer = new RecordWriter<>(out, Format.CSV)) {
+            // maps do not declare their properties, so columns are those of the first record
+            writer.write(ImmutableMap.of("a", "1", "b", "2"));
+            writer.write(ImmutableMap.of("b", "3"));
+            Assertions.assertThrows(IllegalStateException.class, () -> writer.write(ImmutableMap.of("c", "4")));
+            Assertions.assertEquals(2, writer.getCount());
+        }
+        Assertions.assertEquals("a,b\n1,2\n,3\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testCsvRows() throws IOException {
+        final List<Person> people = RandomPerson.get().listOf(100);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (RecordWriter<Person> writer = new RecordWriter<>(out, Format.CSV)) {
+            Assertions.assertEquals(100, writer.writeAll(people.iterator()));
+        }
+
+        // every row has the values that Jackson serializes, in the columns of the header
+        final String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertEquals(101, lines.length);
+        final List<String> columns = parseCsv(lines[0]);
+        Assertions.assertTrue(columns.contains("lastName"), lines[0]);
+        for (int i = 0; i < people.size(); i++) {
+            final JsonNode node = JacksonUtils.getObjectMapper().valueToTree(people.get(i));
+            final List<String> values = parseCsv(lines[i + 1]);
+            Assertions.assertEquals(columns.size(), values.size(), lines[i + 1]);
+            for (int c = 0; c < columns.size(); c++) {
+                final JsonNode value = node.get(columns.get(c));
+                Assertions.assertEquals(value == null || value.isNull() ? null : value.asText(), values.get(c));
+            }
+        }
+    }
+
+    @Test
+    public void testNdjson() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (RecordWriter<Person> writer = new RecordWriter<>(out, Format.NDJSON)) {
+            Assertions.assertEquals(100, RandomPerson.get().writeTo(writer, 100));
+            Assertions.assertEquals(100, writer.getCount());
+        }
+
+        final String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertEquals(100, lines.length);
+        for (final String line : lines) {
+            final JsonNode node = JacksonUtils.getObjectMapper().readTree(line);
+            Assertions.assertTrue(node.get("lastName").isTextual());
+        }
+    }
+
+    @Test
+    public void testOpen() throws IOException {
+        final Path file = Files.createTempFile("record-writer", ".ndjson");
+        try {
+            try (RecordWriter<Person> writer = RecordWriter.open(file, Format.NDJSON)) {
+                RandomPerson.get().writeTo(writer, 10);
+            }
+            Assertions.assertEquals(10, Files.readAllLines(file, StandardCharsets.UTF_8).size());
+            Assertions.assertThrows(NullPointerException.class, () -> RecordWriter.open(file, null));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}